@@ -0,0 +1,66 @@
+package com.iam.benchmarks;
+
+import com.iam.domain.model.aggregates.User;
+import com.iam.domain.model.entities.Role;
+import com.iam.domain.model.valueobjects.Roles;
+import com.iam.infrastructure.authorization.sfs.model.UserDetailsImpl;
+import com.iam.infrastructure.tokens.jwt.model.VerifiedToken;
+import com.iam.infrastructure.tokens.revocation.JtiHashes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request work of the bearer filter besides signature verification: hashing the jti for the revocation
+ * lookup and building the principal, either from the loaded user or from the token claims.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationPipelineBenchmark {
+
+    private String jti;
+    private User user;
+    private VerifiedToken verifiedToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jti = UUID.randomUUID().toString();
+        user = new User("benchmark-user", "{bcrypt}$2a$10$abcdefghijklmnopqrstuv",
+                List.of(new Role(Roles.SELLER), new Role(Roles.BUYER)));
+        verifiedToken = new VerifiedToken(jti, "benchmark-user", 42L, List.of("SELLER", "BUYER"),
+                Instant.now().plus(1, ChronoUnit.DAYS));
+    }
+
+    @Benchmark
+    public String sha256HexJti() {
+        return JtiHashes.sha256Hex(jti);
+    }
+
+    @Benchmark
+    public UserDetailsImpl buildUserDetailsFromUser() {
+        return UserDetailsImpl.build(user);
+    }
+
+    @Benchmark
+    public UserDetailsImpl buildUserDetailsFromClaims() {
+        return UserDetailsImpl.build(verifiedToken);
+    }
+}
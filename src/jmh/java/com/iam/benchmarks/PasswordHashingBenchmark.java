@@ -0,0 +1,64 @@
+package com.iam.benchmarks;
+
+import com.iam.infrastructure.hashing.bcrypt.services.HashingServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of verifying a password (one sign-in) per hashing configuration, through the same
+ * {@link HashingServiceImpl} used in production, so the pool hand-off is included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+    private static final String PASSWORD = "correct horse battery staple";
+
+    /**
+     * algorithm:parameter, where the parameter is the BCrypt strength or the Argon2 memory in KiB.
+     */
+    @Param({"bcrypt:10", "bcrypt:12", "argon2:19456", "argon2:47104", "pbkdf2:0"})
+    public String configuration;
+
+    private HashingServiceImpl hashingService;
+    private String encodedPassword;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var parts = configuration.split(":");
+        var algorithm = parts[0];
+        var parameter = Integer.parseInt(parts[1]);
+        var strength = HashingServiceImpl.BCRYPT.equals(algorithm) ? parameter : 10;
+        var memoryKib = HashingServiceImpl.ARGON2.equals(algorithm) ? parameter : 19456;
+        hashingService = new HashingServiceImpl(new SimpleMeterRegistry(), algorithm, strength,
+                memoryKib, 2, 1, 1, 64, 60_000);
+        encodedPassword = hashingService.encode(PASSWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        hashingService.shutdown();
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return hashingService.matches(PASSWORD, encodedPassword);
+    }
+}
@@ -0,0 +1,72 @@
+package com.iam.benchmarks;
+
+import com.iam.infrastructure.caching.VerifiedTokenCache;
+import com.iam.infrastructure.tokens.jwt.keys.JwtKeyRing;
+import com.iam.infrastructure.tokens.jwt.model.VerifiedToken;
+import com.iam.infrastructure.tokens.jwt.services.TokenServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issuing and verifying bearer tokens, the work done by sign-in and by the bearer filter on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+    private static final String SECRET = "WriteHereYourSecretStringForTokenSigningCredentials";
+
+    private TokenServiceImpl tokenService;
+    private TokenServiceImpl uncachedTokenService;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var keyRing = new JwtKeyRing(new MockEnvironment().withProperty("authorization.jwt.secret", SECRET));
+        tokenService = new TokenServiceImpl(keyRing, verifiedTokenCache(10_000), 15);
+        uncachedTokenService = new TokenServiceImpl(keyRing, verifiedTokenCache(0), 15);
+        token = tokenService.generateToken("benchmark-user", 42L, List.of("SELLER", "BUYER"));
+    }
+
+    @Benchmark
+    public String buildToken() {
+        return tokenService.generateToken("benchmark-user", 42L, List.of("SELLER", "BUYER"));
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return tokenService.verify(token);
+    }
+
+    /** Full signature verification, as on a cache miss. */
+    @Benchmark
+    public VerifiedToken verifyUncached() {
+        return uncachedTokenService.verify(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenService.validateToken(token);
+    }
+
+    static VerifiedTokenCache verifiedTokenCache(long maximumSize) {
+        return new VerifiedTokenCache(new SimpleMeterRegistry(), maximumSize, 300, 30);
+    }
+}
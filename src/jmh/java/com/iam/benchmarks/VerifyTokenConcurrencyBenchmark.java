@@ -0,0 +1,155 @@
+package com.iam.benchmarks;
+
+import com.iam.domain.model.readmodels.RevokedTokenEntry;
+import com.iam.infrastructure.persistence.jpa.repositories.RevokedTokenRepository;
+import com.iam.infrastructure.tokens.jwt.keys.JwtKeyRing;
+import com.iam.infrastructure.tokens.jwt.services.TokenServiceImpl;
+import com.iam.infrastructure.tokens.revocation.JtiHashes;
+import com.iam.infrastructure.tokens.revocation.RevokedTokenCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Concurrent {@code /verify-token} requests served by Tomcat's default pool of 200 platform threads versus one virtual
+ * thread per request ({@code spring.threads.virtual.enabled=true}). A request does what the bearer filter does:
+ * verifies the token and looks its jti up in the {@link RevokedTokenCache}.
+ * <ul>
+ *     <li>{@code verifyToken}: the bloom filter answers, no database access; CPU bound in both modes.</li>
+ *     <li>{@code verifyTokenWithDatabaseCheck}: the jti is a bloom filter false positive, so the cache confirms it
+ *     with {@code existsByJtiHash}, simulated as {@code ioMillis} of blocking I/O. Only that phase holds a
+ *     connection: with {@code poolConnections=0} the database is unbounded and the thread model decides the
+ *     throughput; with a pool, throughput is capped at {@code poolConnections / ioMillis} in both modes.</li>
+ * </ul>
+ * The {@code virtual} mode needs JDK 21 (build with {@code -Pjava21}); on older JDKs its trials fail at setup.
+ * <p>
+ *     {@code mvn -Pjmh -DskipTests test-compile exec:exec -Djmh.args="VerifyTokenConcurrencyBenchmark"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class VerifyTokenConcurrencyBenchmark {
+    private static final String SECRET = "WriteHereYourSecretStringForTokenSigningCredentials";
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int REQUESTS = 2000;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"2"})
+    public int ioMillis;
+
+    // 0 = sin límite de conexiones
+    @Param({"0", "10", "50"})
+    public int poolConnections;
+
+    private TokenServiceImpl tokenService;
+    private RevokedTokenCache revokedTokenCache;
+    private String token;
+    private String falsePositiveToken;
+    private ExecutorService executor;
+    private Semaphore connections;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        var keyRing = new JwtKeyRing(new MockEnvironment().withProperty("authorization.jwt.secret", SECRET));
+        tokenService = new TokenServiceImpl(keyRing, TokenServiceBenchmark.verifiedTokenCache(10_000), 15);
+        token = tokenService.generateToken("benchmark-user", 42L, List.of("SELLER", "BUYER"));
+        falsePositiveToken = tokenService.generateToken("benchmark-user", 42L, List.of("SELLER", "BUYER"));
+        connections = poolConnections > 0 ? new Semaphore(poolConnections, true) : null;
+
+        // El filtro contiene el jti de falsePositiveToken, pero la BD responde que no está revocado
+        var falsePositive = tokenService.verify(falsePositiveToken);
+        var repository = mock(RevokedTokenRepository.class);
+        when(repository.findActiveEntries(any())).thenReturn(List.of(
+                new RevokedTokenEntry(1L, JtiHashes.sha256Hex(falsePositive.jti()), falsePositive.expiresAt())));
+        when(repository.existsByJtiHash(anyString())).thenAnswer(invocation -> existsByJtiHash());
+        revokedTokenCache = new RevokedTokenCache(repository, 100_000, 0.001, 1_000);
+        revokedTokenCache.rebuild();
+
+        executor = switch (mode) {
+            case "platform" -> Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+            // Por reflexión: el código se compila con release 17
+            case "virtual" -> (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            default -> throw new IllegalArgumentException(mode);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public int verifyToken() throws Exception {
+        return serve(token);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public int verifyTokenWithDatabaseCheck() throws Exception {
+        return serve(falsePositiveToken);
+    }
+
+    // private methods
+
+    private int serve(String bearerToken) throws Exception {
+        var requests = new ArrayList<Future<Boolean>>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) requests.add(executor.submit(() -> isActive(bearerToken)));
+        int active = 0;
+        for (var request : requests) if (request.get()) active++;
+        return active;
+    }
+
+    private boolean isActive(String bearerToken) {
+        var verified = tokenService.verify(bearerToken);
+        return !verified.hasJti()
+                || !revokedTokenCache.isRevoked(JtiHashes.sha256Hex(verified.jti()), verified.expiresAt());
+    }
+
+    // Solo esta fase compite por conexiones
+    private boolean existsByJtiHash() throws InterruptedException {
+        if (connections == null) {
+            Thread.sleep(ioMillis);
+            return false;
+        }
+        connections.acquire();
+        try {
+            Thread.sleep(ioMillis);
+            return false;
+        } finally {
+            connections.release();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.iam.application.internal.catalogs;
+
+import com.iam.domain.model.entities.Role;
+import com.iam.domain.model.valueobjects.Roles;
+import com.iam.infrastructure.persistence.jpa.repositories.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * RoleCatalog
+ * <p>
+ *     Immutable in-memory copy of the {@code roles} table. The set of roles is fixed by the {@link Roles} enum and
+ *     seeded at startup, so the catalog is loaded once after seeding and only reloaded by {@link #refresh()}.
+ *     The {@link Role} instances are detached entities that can be associated with new users without a query.
+ * </p>
+ */
+@Component
+public class RoleCatalog {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RoleCatalog.class);
+
+    private final RoleRepository roleRepository;
+    private volatile Snapshot snapshot;
+
+    public RoleCatalog(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    public Optional<Role> find(Roles name) {
+        return Optional.ofNullable(current().byName().get(name));
+    }
+
+    public List<Role> all() {
+        return current().all();
+    }
+
+    /**
+     * Reloads the catalog from the database.
+     */
+    public synchronized void refresh() {
+        var byName = new EnumMap<Roles, Role>(Roles.class);
+        roleRepository.findAll().forEach(role -> byName.put(role.getName(), role));
+        var all = byName.values().stream().sorted(Comparator.comparing(Role::getId)).toList();
+        snapshot = new Snapshot(Collections.unmodifiableMap(byName), all);
+        LOGGER.info("Role catalog loaded with {} role(s)", all.size());
+    }
+
+    private Snapshot current() {
+        var current = snapshot;
+        if (current == null) {
+            // Peticiones que llegan antes del ApplicationReadyEvent
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private record Snapshot(Map<Roles, Role> byName, List<Role> all) {
+    }
+}
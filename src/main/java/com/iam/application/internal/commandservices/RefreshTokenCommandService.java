@@ -0,0 +1,125 @@
+package com.iam.application.internal.commandservices;
+
+import com.iam.domain.model.commands.RevokeRefreshTokenCommand;
+import com.iam.domain.model.entities.RefreshToken;
+import com.iam.infrastructure.metrics.AuthenticationMetrics;
+import com.iam.infrastructure.persistence.jpa.repositories.RefreshTokenRepository;
+import com.iam.infrastructure.tokens.refresh.RefreshTokenGenerator;
+import com.iam.infrastructure.tokens.revocation.JtiHashes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * RefreshTokenCommandService
+ * <p>
+ *     Issues, rotates and revokes opaque refresh tokens. Each token can be used once: a rotation marks it as used
+ *     and issues its successor in the same family. Presenting a token that was already used means it leaked, so
+ *     the whole family is revoked and the legitimate client has to sign in again.
+ * </p>
+ * <p>
+ *     Two legitimate refreshes can race with the same token, e.g. two tabs of the same client. The row lock lets
+ *     only the first one rotate; a second use within {@code authorization.refresh-token.reuse-grace-seconds} of the
+ *     first is rejected without revoking the family, so the client can retry with the successor it already got.
+ *     The trade-off is that a replay inside that window is not treated as a leak, so keep it short; 0 turns it off.
+ * </p>
+ */
+@Service
+@Transactional
+public class RefreshTokenCommandService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshTokenCommandService.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenGenerator generator;
+    private final AuthenticationMetrics metrics;
+    private final Duration expiration;
+    private final Duration reuseGrace;
+    private final Counter reuseDetected;
+
+    public RefreshTokenCommandService(RefreshTokenRepository refreshTokenRepository,
+                                      RefreshTokenGenerator generator,
+                                      AuthenticationMetrics metrics,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${authorization.refresh-token.expiration-days:30}") int expirationDays,
+                                      @Value("${authorization.refresh-token.reuse-grace-seconds:5}") long reuseGraceSeconds) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.generator = generator;
+        this.metrics = metrics;
+        this.expiration = Duration.ofDays(expirationDays);
+        this.reuseGrace = Duration.ofSeconds(reuseGraceSeconds);
+        this.reuseDetected = Counter.builder("iam.refresh-tokens.reuse")
+                .description("Refresh tokens presented after being used; their family is revoked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Issues the first refresh token of a new family for the user.
+     * @return the raw refresh token; only its hash is stored
+     */
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString(), Instant.now());
+    }
+
+    /**
+     * Uses the refresh token and issues its successor in the same family.
+     * @return the user id and the new raw refresh token, or empty if the token is unknown, expired, revoked or
+     *         was already used
+     */
+    public Optional<ImmutablePair<Long, String>> rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) return Optional.empty();
+
+        // Bloqueamos la fila: dos refresh concurrentes con el mismo token no pueden usarlo ambos
+        var stored = refreshTokenRepository.findByTokenHashForUpdate(JtiHashes.sha256Hex(rawToken));
+        if (stored.isEmpty()) return Optional.empty();
+
+        var token = stored.get();
+        var now = Instant.now();
+        if (token.isRevoked() || token.isExpired(now)) return Optional.empty();
+
+        if (token.isUsed() && now.isBefore(token.getUsedAt().plus(reuseGrace))) {
+            // Refresh concurrente del mismo cliente: lo rechazamos sin tumbar la sesión que ya rotó
+            LOGGER.debug("Refresh token of user {} reused within the grace period", token.getUserId());
+            return Optional.empty();
+        }
+
+        if (token.isUsed()) {
+            // Reuso: alguien más tiene una copia del token, invalidamos toda la familia
+            reuseDetected.increment();
+            int revoked = refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            LOGGER.warn("Refresh token reuse detected for user {}; revoked {} token(s) of its family",
+                    token.getUserId(), revoked);
+            return Optional.empty();
+        }
+
+        token.markUsed(now);
+        var successor = issue(token.getUserId(), token.getFamilyId(), now);
+        return Optional.of(ImmutablePair.of(token.getUserId(), successor));
+    }
+
+    public void handle(RevokeRefreshTokenCommand command) {
+        metrics.recordCommand("revoke-refresh-token", () -> revoke(command));
+    }
+
+    private void revoke(RevokeRefreshTokenCommand command) {
+        if (command.refreshToken() == null || command.refreshToken().isBlank()) return;
+        refreshTokenRepository.findByTokenHash(JtiHashes.sha256Hex(command.refreshToken()))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), Instant.now()));
+    }
+
+    private String issue(Long userId, String familyId, Instant now) {
+        var rawToken = generator.generate();
+        refreshTokenRepository.save(
+                new RefreshToken(JtiHashes.sha256Hex(rawToken), familyId, userId, now.plus(expiration)));
+        return rawToken;
+    }
+}
@@ -1,6 +1,7 @@
 package com.iam.application.internal.commandservices;
 
 
+import com.iam.application.internal.catalogs.RoleCatalog;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
 import com.iam.domain.model.commands.SeedRolesCommand;
@@ -15,9 +16,11 @@ import java.util.Arrays;
 @Transactional
 public class RoleCommandServiceImpl implements RoleCommandService {
     private final RoleRepository roleRepository;
+    private final RoleCatalog roleCatalog;
 
-    public RoleCommandServiceImpl(RoleRepository roleRepository) {
+    public RoleCommandServiceImpl(RoleRepository roleRepository, RoleCatalog roleCatalog) {
         this.roleRepository = roleRepository;
+        this.roleCatalog = roleCatalog;
     }
 
     @Override
@@ -25,5 +28,7 @@ public class RoleCommandServiceImpl implements RoleCommandService {
         Arrays.stream(Roles.values()).forEach(r -> {
             if (!roleRepository.existsByName(r)) roleRepository.save(new Role(r));
         });
+        // El catálogo en memoria solo se recarga aquí, después de cambiar la tabla roles
+        roleCatalog.refresh();
     }
 }
@@ -2,15 +2,19 @@ package com.iam.application.internal.commandservices;
 
 import com.iam.domain.model.commands.RevokeTokenCommand;
 import com.iam.domain.model.entities.RevokedToken;
+import com.iam.infrastructure.messaging.TokenEventsProducer;
+import com.iam.infrastructure.messaging.events.TokenRevokedEvent;
+import com.iam.infrastructure.metrics.AuthenticationMetrics;
 import com.iam.infrastructure.persistence.jpa.repositories.RevokedTokenRepository;
 import com.iam.infrastructure.tokens.jwt.BearerTokenService;
+import com.iam.infrastructure.tokens.revocation.JtiHashes;
+import com.iam.infrastructure.tokens.revocation.RevokedTokenCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.time.Instant;
-import java.util.HexFormat;
 
 @Service
 @Transactional
@@ -18,32 +22,43 @@ public class TokenRevocationCommandService {
 
     private final RevokedTokenRepository revokedRepo;
     private final BearerTokenService tokenService;
+    private final RevokedTokenCache revokedTokenCache;
+    private final TokenEventsProducer tokenEventsProducer;
+    private final AuthenticationMetrics metrics;
 
     public TokenRevocationCommandService(RevokedTokenRepository revokedRepo,
-                                         BearerTokenService tokenService) {
+                                         BearerTokenService tokenService,
+                                         RevokedTokenCache revokedTokenCache,
+                                         TokenEventsProducer tokenEventsProducer,
+                                         AuthenticationMetrics metrics) {
         this.revokedRepo = revokedRepo;
         this.tokenService = tokenService;
+        this.revokedTokenCache = revokedTokenCache;
+        this.tokenEventsProducer = tokenEventsProducer;
+        this.metrics = metrics;
     }
 
     public void handle(RevokeTokenCommand command) {
-        var token = command.token();
-        var jti = tokenService.getJti(token);
-        if (jti == null || jti.isBlank()) return;
+        metrics.recordCommand("revoke-token", () -> revoke(command));
+    }
+
+    private void revoke(RevokeTokenCommand command) {
+        var verifiedToken = tokenService.verify(command.token());
+        if (!verifiedToken.hasJti()) return;
 
-        var jtiHash = sha256Hex(jti);
+        var jtiHash = JtiHashes.sha256Hex(verifiedToken.jti());
         if (revokedRepo.existsByJtiHash(jtiHash)) return;
 
-        Instant expiresAt = tokenService.getExpiration(token); // guarda hasta exp
+        Instant expiresAt = verifiedToken.expiresAt(); // guarda hasta exp
         revokedRepo.save(new RevokedToken(jtiHash, expiresAt));
-    }
 
-    private String sha256Hex(String value) {
-        try {
-            var md = MessageDigest.getInstance("SHA-256");
-            var hash = md.digest(value.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(hash);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to hash jti", e);
-        }
+        // El cache local y los demás nodos se actualizan solo cuando la revocación ya es visible en la BD
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                revokedTokenCache.add(jtiHash, expiresAt);
+                tokenEventsProducer.publishTokenRevoked(new TokenRevokedEvent(jtiHash, expiresAt));
+            }
+        });
     }
 }
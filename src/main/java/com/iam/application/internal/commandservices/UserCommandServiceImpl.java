@@ -2,9 +2,17 @@ package com.iam.application.internal.commandservices;
 
 
 
+import com.iam.application.internal.catalogs.RoleCatalog;
 import com.iam.domain.exceptions.ResourceNotFoundException;
-import com.iam.infrastructure.messaging.UserEventsProducer;
+import com.iam.domain.exceptions.TooManyRequestsException;
+import com.iam.infrastructure.caching.UserPrincipalCache;
+import com.iam.infrastructure.metrics.AuthenticationMetrics;
+import com.iam.infrastructure.messaging.outbox.UserEventsOutbox;
 import com.iam.infrastructure.messaging.events.UserRegisteredEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.transaction.annotation.Transactional;
 import org.apache.commons.lang3.tuple.ImmutablePair;
@@ -16,8 +24,8 @@ import com.iam.domain.model.commands.RefreshTokenCommand;
 import com.iam.domain.model.commands.SignInCommand;
 import com.iam.domain.model.commands.SignUpCommand;
 import com.iam.domain.model.entities.Role;
+import com.iam.domain.model.valueobjects.AuthenticationTokens;
 import com.iam.domain.services.UserCommandService;
-import com.iam.infrastructure.persistence.jpa.repositories.RoleRepository;
 import com.iam.infrastructure.persistence.jpa.repositories.UserRepository;
 
 import java.util.ArrayList;
@@ -27,84 +35,136 @@ import java.util.Optional;
 @Service
 @Transactional
 public class UserCommandServiceImpl implements UserCommandService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserCommandServiceImpl.class);
     private final UserRepository userRepository;
     private final HashingService hashingService;
     private final TokenService tokenService;
-    private final RoleRepository roleRepository;
-    private final UserEventsProducer userEventsProducer;
+    private final RoleCatalog roleCatalog;
+    private final UserEventsOutbox userEventsOutbox;
+    private final AuthenticationMetrics metrics;
+    private final UserPrincipalCache userPrincipalCache;
+    private final RefreshTokenCommandService refreshTokenCommandService;
 
 
 
 
-    public UserCommandServiceImpl(UserRepository userRepository, HashingService hashingService, TokenService tokenService, RoleRepository roleRepository, UserEventsProducer userEventsProducer) {
+    public UserCommandServiceImpl(UserRepository userRepository, HashingService hashingService, TokenService tokenService, RoleCatalog roleCatalog, UserEventsOutbox userEventsOutbox, AuthenticationMetrics metrics, UserPrincipalCache userPrincipalCache, RefreshTokenCommandService refreshTokenCommandService) {
         this.userRepository = userRepository;
         this.hashingService = hashingService;
         this.tokenService = tokenService;
-        this.roleRepository = roleRepository;
-        this.userEventsProducer = userEventsProducer;
+        this.roleCatalog = roleCatalog;
+        this.userEventsOutbox = userEventsOutbox;
+        this.metrics = metrics;
+        this.userPrincipalCache = userPrincipalCache;
+        this.refreshTokenCommandService = refreshTokenCommandService;
     }
 
     @Override
     public Optional<User> handle(SignUpCommand command) {
+        return metrics.recordCommand("sign-up", () -> signUp(command));
+    }
+
+    @Override
+    public Optional<ImmutablePair<User, AuthenticationTokens>> handle(SignInCommand command) {
+        return metrics.recordCommand("sign-in", () -> signIn(command));
+    }
+
+    @Override
+    public Optional<ImmutablePair<User, AuthenticationTokens>> handle(RefreshTokenCommand command) {
+        return metrics.recordCommand("refresh", () -> refresh(command));
+    }
+
+
+    private Optional<User> signUp(SignUpCommand command) {
+        // Camino rápido: un duplicado no debe ocupar el pool de hashing
         if (userRepository.existsByUsername(command.username()))
             throw new IllegalStateException("Username already exists");
 
         var roles = resolveRoles(command.roles());
         var user = new User(command.username(), hashingService.encode(command.password()), roles);
-        userRepository.save(user);
-
-        var saved = userRepository.findByUsername(command.username());
+        try {
+            // Un solo INSERT: el índice único de users.username resuelve los sign-up concurrentes
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateUsername(e)) throw new IllegalStateException("Username already exists");
+            throw e;
+        }
+        userPrincipalCache.evictAfterCommit(user.getId(), user.getUsername());
 
-        // 👉 Emitimos evento
-        saved.ifPresent(u -> {
-            var event = new UserRegisteredEvent(
-                    u.getId(),
-                    u.getUsername(),
-                    u.getSerializedRoles()
-            );
-            userEventsProducer.publishUserRegistered(event);
-        });
+        // 👉 Emitimos evento vía outbox: se guarda en esta misma transacción y el relay lo publica
+        userEventsOutbox.enqueue(new UserRegisteredEvent(user.getId(), user.getUsername(), user.getSerializedRoles()));
 
-        return saved;
+        return Optional.of(user);
     }
 
-    @Override
-    public Optional<ImmutablePair<User, String>> handle(SignInCommand command) {
+    private Optional<ImmutablePair<User, AuthenticationTokens>> signIn(SignInCommand command) {
         var user = userRepository.findByUsername(command.username())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         if (!hashingService.matches(command.password(), user.getPassword()))
             throw new BadCredentialsException("Invalid credentials");
 
+        upgradePasswordHashIfNeeded(user, command.password());
+
         // 👉 Ahora metemos id + roles en el token
-        var token = tokenService.generateToken(
+        var accessToken = tokenService.generateToken(
                 user.getUsername(),
                 user.getId(),
                 user.getSerializedRoles()      // List<String> ["SELLER", "BUYER"...]
         );
-        return Optional.of(ImmutablePair.of(user, token));
+        var refreshToken = refreshTokenCommandService.issue(user.getId());
+        return Optional.of(ImmutablePair.of(user, new AuthenticationTokens(accessToken, refreshToken)));
     }
 
 
-    @Override
-    public Optional<ImmutablePair<User, String>> handle(RefreshTokenCommand command) {
-        var username = tokenService.getUsernameFromToken(command.token());
-        var user = userRepository.findByUsername(username)
+    private Optional<ImmutablePair<User, AuthenticationTokens>> refresh(RefreshTokenCommand command) {
+        // Sin excepción si el token no sirve: el reuso revoca la familia y eso debe confirmarse
+        var rotated = refreshTokenCommandService.rotate(command.refreshToken());
+        if (rotated.isEmpty()) return Optional.empty();
+
+        var user = userRepository.findById(rotated.get().getLeft())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        var token = tokenService.generateToken(
+        // Los roles se leen de nuevo: un cambio de roles se refleja en el siguiente access token
+        var accessToken = tokenService.generateToken(
                 user.getUsername(),
                 user.getId(),
                 user.getSerializedRoles()
         );
-        return Optional.of(ImmutablePair.of(user, token));
+        return Optional.of(ImmutablePair.of(user, new AuthenticationTokens(accessToken, rotated.get().getRight())));
+    }
+
+
+    /**
+     * Only a violation of the unique constraint on {@code users.username} means the username is taken; any other
+     * integrity error (role foreign key, null column...) is propagated as is.
+     */
+    private static boolean isDuplicateUsername(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (!(cause instanceof ConstraintViolationException violation)) continue;
+            if (User.USERNAME_UNIQUE_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName())) return true;
+            // Esquemas creados antes de nombrar la restricción: Postgres informa "Key (username)=(...)"
+            var sqlMessage = violation.getSQLException() != null ? violation.getSQLException().getMessage() : null;
+            return sqlMessage != null && sqlMessage.contains("(username)");
+        }
+        return false;
     }
 
+    private void upgradePasswordHashIfNeeded(User user, String rawPassword) {
+        if (!hashingService.upgradeEncoding(user.getPassword())) return;
+        try {
+            // Re-hash con el algoritmo/parámetros actuales; se persiste al confirmar la transacción
+            user.setPassword(hashingService.encode(rawPassword));
+            userPrincipalCache.evictAfterCommit(user.getId(), user.getUsername());
+        } catch (TooManyRequestsException e) {
+            LOGGER.debug("Skipping password hash upgrade for '{}': hashing pool saturated", user.getUsername());
+        }
+    }
 
     private List<Role> resolveRoles(List<Role> requested) {
         // Si no envían roles, usa el rol por defecto
         if (requested == null || requested.isEmpty()) {
-            var defaultRole = roleRepository.findByName(Role.getDefaultRole().getName())
+            var defaultRole = roleCatalog.find(Role.getDefaultRole().getName())
                     .orElseThrow(() -> new ResourceNotFoundException(
                             "Default role " + Role.getDefaultRole().getName().name() + " not found"));
             return List.of(defaultRole);
@@ -112,7 +172,7 @@ public class UserCommandServiceImpl implements UserCommandService {
 
         var result = new ArrayList<Role>(requested.size());
         for (var r : requested) {
-            var found = roleRepository.findByName(r.getName())
+            var found = roleCatalog.find(r.getName())
                     .orElseThrow(() -> new ResourceNotFoundException("Role " + r.getName().name() + " not found"));
             result.add(found);
         }
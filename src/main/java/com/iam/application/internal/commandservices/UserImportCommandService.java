@@ -0,0 +1,199 @@
+package com.iam.application.internal.commandservices;
+
+import com.iam.application.internal.catalogs.RoleCatalog;
+import com.iam.application.internal.outboundservices.hashing.HashingService;
+import com.iam.domain.model.commands.ImportUsersCommand;
+import com.iam.domain.model.entities.Role;
+import com.iam.domain.model.readmodels.UserImportFailure;
+import com.iam.domain.model.readmodels.UserImportReport;
+import com.iam.domain.model.valueobjects.Roles;
+import com.iam.domain.model.valueobjects.UserImportRow;
+import com.iam.infrastructure.messaging.outbox.UserEventsOutbox;
+import com.iam.infrastructure.messaging.events.UserRegisteredEvent;
+import com.iam.infrastructure.metrics.AuthenticationMetrics;
+import com.iam.infrastructure.persistence.jdbc.UserBulkInsertRepository;
+import com.iam.infrastructure.persistence.jdbc.UserInsert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserImportCommandService
+ * <p>
+ *     Imports users from a file in chunks of {@code import.users.batch-size} rows. For each chunk, invalid rows and
+ *     usernames that are already taken are reported, the remaining passwords are hashed in parallel
+ *     ({@link HashingService#encodeAll}), and the users are inserted with JDBC batches in one transaction together
+ *     with their {@link UserRegisteredEvent}s in the outbox.
+ * </p>
+ */
+@Service
+public class UserImportCommandService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserImportCommandService.class);
+    private static final int MAX_USERNAME_LENGTH = 50;
+
+    private final UserBulkInsertRepository userBulkInsertRepository;
+    private final HashingService hashingService;
+    private final RoleCatalog roleCatalog;
+    private final UserEventsOutbox userEventsOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final AuthenticationMetrics metrics;
+    private final int batchSize;
+
+    public UserImportCommandService(UserBulkInsertRepository userBulkInsertRepository,
+                                    HashingService hashingService,
+                                    RoleCatalog roleCatalog,
+                                    UserEventsOutbox userEventsOutbox,
+                                    PlatformTransactionManager transactionManager,
+                                    AuthenticationMetrics metrics,
+                                    @Value("${import.users.batch-size:500}") int batchSize) {
+        this.userBulkInsertRepository = userBulkInsertRepository;
+        this.hashingService = hashingService;
+        this.roleCatalog = roleCatalog;
+        this.userEventsOutbox = userEventsOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metrics = metrics;
+        this.batchSize = batchSize;
+    }
+
+    public UserImportReport handle(ImportUsersCommand command) {
+        return metrics.recordCommand("import-users", () -> importUsers(command));
+    }
+
+    private UserImportReport importUsers(ImportUsersCommand command) {
+        var startedAt = System.nanoTime();
+        var progress = new Progress();
+        var chunk = new ArrayList<UserImportRow>(batchSize);
+        try (var rows = command.rows()) {
+            var iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == batchSize) {
+                    importChunk(chunk, progress);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) importChunk(chunk, progress);
+
+        var elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        var report = new UserImportReport(progress.received, progress.imported, progress.failed, elapsedMillis,
+                progress.failures);
+        LOGGER.info("Imported {} of {} user(s) in {} ms ({} users/s), {} failed", report.imported(),
+                report.received(), elapsedMillis, String.format("%.1f", report.usersPerSecond()), report.failed());
+        return report;
+    }
+
+    private void importChunk(List<UserImportRow> chunk, Progress progress) {
+        progress.received += chunk.size();
+
+        // 1. Validación y roles (catálogo en memoria)
+        var candidates = new ArrayList<Candidate>(chunk.size());
+        var usernames = new HashSet<String>();
+        for (var row : chunk) {
+            var error = validate(row);
+            if (error == null && !usernames.add(row.username())) error = "Duplicate username in file";
+            if (error != null) {
+                progress.fail(row, error);
+                continue;
+            }
+            try {
+                candidates.add(new Candidate(row, resolveRoles(row.roles())));
+            } catch (IllegalArgumentException e) {
+                progress.fail(row, e.getMessage());
+            }
+        }
+
+        // 2. Usernames ya registrados: se descartan antes del hash, que es lo caro
+        var existing = userBulkInsertRepository.findExistingUsernames(usernames);
+        if (!existing.isEmpty()) {
+            candidates.removeIf(candidate -> {
+                if (!existing.contains(candidate.row().username())) return false;
+                progress.fail(candidate.row(), "Username already exists");
+                return true;
+            });
+        }
+        if (candidates.isEmpty()) return;
+
+        // 3. Hash en paralelo en el pool acotado
+        var hashes = hashingService.encodeAll(candidates.stream().map(candidate -> candidate.row().password()).toList());
+
+        // 4. Filas a insertar por batch
+        var inserts = new ArrayList<UserInsert>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            var candidate = candidates.get(i);
+            inserts.add(new UserInsert(candidate.row().username(), hashes.get(i),
+                    candidate.roles().stream().map(Role::getId).toList()));
+        }
+
+        // 5. Usuarios y eventos (outbox) en la misma transacción
+        var inserted = transactionTemplate.execute(status -> {
+            var ids = userBulkInsertRepository.insertAll(inserts);
+            userEventsOutbox.enqueueAll(candidates.stream()
+                    .filter(candidate -> ids.containsKey(candidate.row().username()))
+                    .map(candidate -> new UserRegisteredEvent(ids.get(candidate.row().username()),
+                            candidate.row().username(),
+                            candidate.roles().stream().map(Role::getStringName).toList()))
+                    .toList());
+            return ids;
+        });
+
+        for (var candidate : candidates) {
+            if (inserted.containsKey(candidate.row().username())) {
+                progress.imported++;
+            } else {
+                // Registrado por otra petición entre la verificación y el INSERT
+                progress.fail(candidate.row(), "Username already exists");
+            }
+        }
+    }
+
+    private static String validate(UserImportRow row) {
+        if (row.isMalformed()) return row.error();
+        if (row.username() == null || row.username().isBlank()) return "Username is required";
+        if (row.username().length() > MAX_USERNAME_LENGTH)
+            return "Username is longer than " + MAX_USERNAME_LENGTH + " characters";
+        if (row.password() == null || row.password().isBlank()) return "Password is required";
+        return null;
+    }
+
+    private List<Role> resolveRoles(List<String> roleNames) {
+        // Sin roles, el rol por defecto, igual que en sign-up
+        var names = roleNames.isEmpty() ? List.of(Role.getDefaultRole().getStringName()) : roleNames;
+        var roles = new ArrayList<Role>(names.size());
+        for (var name : names) {
+            Roles roleName;
+            try {
+                roleName = Roles.valueOf(name.trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown role " + name);
+            }
+            roles.add(roleCatalog.find(roleName)
+                    .orElseThrow(() -> new IllegalArgumentException("Role " + roleName.name() + " not found")));
+        }
+        return roles.stream().distinct().toList();
+    }
+
+    private record Candidate(UserImportRow row, List<Role> roles) {
+    }
+
+    private static final class Progress {
+        private long received;
+        private long imported;
+        private long failed;
+        private final List<UserImportFailure> failures = new ArrayList<>();
+
+        private void fail(UserImportRow row, String reason) {
+            failed++;
+            if (failures.size() < UserImportReport.MAX_REPORTED_FAILURES)
+                failures.add(new UserImportFailure(row.line(), row.username(), reason));
+        }
+    }
+}
@@ -1,6 +1,21 @@
 package com.iam.application.internal.outboundservices.hashing;
 
+import java.util.List;
+
 public interface HashingService {
     String encode(CharSequence rawPassword);
+
+    /**
+     * Hashes many passwords in parallel, for bulk jobs. Unlike {@link #encode}, it waits for capacity instead of
+     * shedding load, and keeps only part of the hashing capacity busy so interactive requests still get through.
+     * @return the hashes, in the order of the given passwords
+     */
+    List<String> encodeAll(List<? extends CharSequence> rawPasswords);
+
     boolean matches(CharSequence rawPassword, String encodedPassword);
+
+    /**
+     * @return true if the hash was produced with another algorithm or weaker parameters than the current ones
+     */
+    boolean upgradeEncoding(String encodedPassword);
 }
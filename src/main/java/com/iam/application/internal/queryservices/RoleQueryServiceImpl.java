@@ -2,33 +2,31 @@ package com.iam.application.internal.queryservices;
 
 
 
-import org.springframework.transaction.annotation.Transactional;
+import com.iam.application.internal.catalogs.RoleCatalog;
 import org.springframework.stereotype.Service;
 import com.iam.domain.model.entities.Role;
 import com.iam.domain.model.queries.GetAllRolesQuery;
 import com.iam.domain.model.queries.GetRoleByNameQuery;
 import com.iam.domain.services.RoleQueryService;
-import com.iam.infrastructure.persistence.jpa.repositories.RoleRepository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
-@Transactional(readOnly = true)
 public class RoleQueryServiceImpl implements RoleQueryService {
-    private final RoleRepository roleRepository;
+    private final RoleCatalog roleCatalog;
 
-    public RoleQueryServiceImpl(RoleRepository roleRepository) {
-        this.roleRepository = roleRepository;
+    public RoleQueryServiceImpl(RoleCatalog roleCatalog) {
+        this.roleCatalog = roleCatalog;
     }
 
     @Override
     public List<Role> handle(GetAllRolesQuery query) {
-        return roleRepository.findAll();
+        return roleCatalog.all();
     }
 
     @Override
     public Optional<Role> handle(GetRoleByNameQuery query) {
-        return roleRepository.findByName(query.roleName());
+        return roleCatalog.find(query.roleName());
     }
 }
@@ -0,0 +1,64 @@
+package com.iam.application.internal.queryservices;
+
+import com.iam.domain.model.queries.IntrospectTokenQuery;
+import com.iam.infrastructure.tokens.jwt.BearerTokenService;
+import com.iam.infrastructure.tokens.jwt.model.VerifiedToken;
+import com.iam.infrastructure.tokens.revocation.JtiHashes;
+import com.iam.infrastructure.tokens.revocation.RevokedTokenCache;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Token introspection: checks the signature, the expiration and the revocation status of an access token.
+ * Nothing is signed and the database is only read on a bloom filter hit of {@link RevokedTokenCache}.
+ */
+@Service
+public class TokenIntrospectionQueryService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenIntrospectionQueryService.class);
+
+    private final BearerTokenService tokenService;
+    private final RevokedTokenCache revokedTokenCache;
+    private final Counter activeTokens;
+    private final Counter inactiveTokens;
+
+    public TokenIntrospectionQueryService(BearerTokenService tokenService,
+                                          RevokedTokenCache revokedTokenCache,
+                                          MeterRegistry meterRegistry) {
+        this.tokenService = tokenService;
+        this.revokedTokenCache = revokedTokenCache;
+        this.activeTokens = Counter.builder("iam.introspection").tag("active", "true")
+                .description("Introspected tokens").register(meterRegistry);
+        this.inactiveTokens = Counter.builder("iam.introspection").tag("active", "false")
+                .description("Introspected tokens").register(meterRegistry);
+    }
+
+    /**
+     * @return the verified claims if the token is active, empty if it is malformed, expired, badly signed or revoked
+     */
+    public Optional<VerifiedToken> handle(IntrospectTokenQuery query) {
+        var active = verify(query.token()).filter(this::isNotRevoked);
+        (active.isPresent() ? activeTokens : inactiveTokens).increment();
+        return active;
+    }
+
+    private Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isBlank()) return Optional.empty();
+        try {
+            return Optional.of(tokenService.verify(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            // Un token inactivo es una respuesta normal de introspección, no un error
+            LOGGER.debug("Inactive token on introspection: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private boolean isNotRevoked(VerifiedToken token) {
+        return !token.hasJti() || !revokedTokenCache.isRevoked(JtiHashes.sha256Hex(token.jti()), token.expiresAt());
+    }
+}
@@ -1,39 +1,54 @@
 package com.iam.application.internal.queryservices;
 
 
-import org.springframework.transaction.annotation.Transactional;
+import com.iam.infrastructure.caching.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
-import com.iam.domain.model.aggregates.User;
 import com.iam.domain.model.queries.GetAllUsersQuery;
 import com.iam.domain.model.queries.GetUserByIdQuery;
 import com.iam.domain.model.queries.GetUserByUsernameQuery;
+import com.iam.domain.model.queries.GetUsersByIdsQuery;
+import com.iam.domain.model.readmodels.UserView;
 import com.iam.domain.services.UserQueryService;
-import com.iam.infrastructure.persistence.jpa.repositories.UserRepository;
+import com.iam.infrastructure.persistence.jdbc.UserViewRepository;
 
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Read side of the users: every query is answered with a single projection query, see {@link UserViewRepository}.
+ * Concurrent lookups of the same id or username share one query through {@link SingleFlight}.
+ */
 @Service
-@Transactional(readOnly = true)
 public class UserQueryServiceImpl implements UserQueryService {
-    private final UserRepository userRepository;
+    private final UserViewRepository userViewRepository;
+    private final SingleFlight<Long, Optional<UserView>> byId;
+    private final SingleFlight<String, Optional<UserView>> byUsername;
+
+    public UserQueryServiceImpl(UserViewRepository userViewRepository, MeterRegistry meterRegistry) {
+        this.userViewRepository = userViewRepository;
+        this.byId = new SingleFlight<>("user-view-by-id", meterRegistry);
+        this.byUsername = new SingleFlight<>("user-view-by-username", meterRegistry);
+    }
 
-    public UserQueryServiceImpl(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    @Override
+    public List<UserView> handle(GetAllUsersQuery query) {
+        return userViewRepository.findPageAfter(query.after(), query.limit());
     }
 
     @Override
-    public List<User> handle(GetAllUsersQuery query) {
-        return userRepository.findAll();
+    public Optional<UserView> handle(GetUserByIdQuery query) {
+        return byId.load(query.userId(), () -> userViewRepository.findById(query.userId()));
     }
 
     @Override
-    public Optional<User> handle(GetUserByIdQuery query) {
-        return userRepository.findById(query.userId());
+    public Optional<UserView> handle(GetUserByUsernameQuery query) {
+        return byUsername.load(query.username(), () -> userViewRepository.findByUsername(query.username()));
     }
 
     @Override
-    public Optional<User> handle(GetUserByUsernameQuery query) {
-        return userRepository.findByUsername(query.username());
+    public List<UserView> handle(GetUsersByIdsQuery query) {
+        if (query.userIds().isEmpty()) return List.of();
+        return userViewRepository.findAllByIdIn(query.userIds());
     }
 }
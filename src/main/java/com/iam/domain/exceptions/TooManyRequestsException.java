@@ -0,0 +1,6 @@
+package com.iam.domain.exceptions;
+
+
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) { super(message); }
+}
@@ -18,9 +18,13 @@ import java.util.Set;
 @Getter
 @Entity
 @Setter
-@Table(name = "users")
+@Table(
+        name = "users",
+        uniqueConstraints = @UniqueConstraint(name = User.USERNAME_UNIQUE_CONSTRAINT, columnNames = "username")
+)
 @EntityListeners(AuditingEntityListener.class)
 public class User {
+    public static final String USERNAME_UNIQUE_CONSTRAINT = "uk_users_username";
 
     @Id
     @GeneratedValue(strategy  = GenerationType.IDENTITY)
@@ -28,7 +32,6 @@ public class User {
 
     @NotBlank
     @Size(max = 50)
-    @Column(unique = true)
     private String username;
 
     @NotBlank
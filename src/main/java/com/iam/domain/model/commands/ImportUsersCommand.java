@@ -0,0 +1,11 @@
+package com.iam.domain.model.commands;
+
+import com.iam.domain.model.valueobjects.UserImportRow;
+
+import java.util.stream.Stream;
+
+/**
+ * Bulk import of users. The rows are consumed lazily, so the file never has to fit in memory.
+ */
+public record ImportUsersCommand(Stream<UserImportRow> rows) {
+}
@@ -1,4 +1,8 @@
 package com.iam.domain.model.commands;
 
-public record RefreshTokenCommand(String token) {
+/**
+ * Exchanges a refresh token for a new access token and a new refresh token.
+ * @param refreshToken the opaque refresh token issued at sign-in or by the previous refresh
+ */
+public record RefreshTokenCommand(String refreshToken) {
 }
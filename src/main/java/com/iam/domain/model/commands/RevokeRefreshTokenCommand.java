@@ -0,0 +1,3 @@
+package com.iam.domain.model.commands;
+
+public record RevokeRefreshTokenCommand(String refreshToken) { }
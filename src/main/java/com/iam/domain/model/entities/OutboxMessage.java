@@ -0,0 +1,50 @@
+package com.iam.domain.model.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Event waiting to be published to Kafka. It is written in the same transaction as the change it describes and
+ * deleted once the broker acknowledges it. A relay claims it by moving {@code availableAt} into the future while it
+ * sends it.
+ */
+@Getter
+@Entity
+@NoArgsConstructor
+@Table(name = "outbox_messages")
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String topic;
+
+    @Column(name = "message_key", length = 100)
+    private String messageKey;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload; // JSON
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // Reclamado por un relay hasta este instante; con default para filas creadas antes de la columna
+    @Column(name = "available_at", nullable = false, columnDefinition = "timestamp(6) with time zone default now()")
+    private Instant availableAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    public OutboxMessage(String topic, String messageKey, String payload) {
+        this.topic = topic;
+        this.messageKey = messageKey;
+        this.payload = payload;
+        this.createdAt = Instant.now();
+        this.availableAt = this.createdAt;
+    }
+}
@@ -0,0 +1,70 @@
+package com.iam.domain.model.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Single-use refresh token. Only the SHA-256 hex digest of the opaque token is stored. Every rotation issues a new
+ * token in the same family; presenting a token that was already used revokes the whole family.
+ */
+@Getter
+@Entity
+@NoArgsConstructor
+@Table(
+        name = "refresh_tokens",
+        indexes = {
+                @Index(name = "idx_refresh_tokens_token_hash", columnList = "token_hash", unique = true),
+                @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id"),
+                @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+        }
+)
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash; // SHA-256 hex
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "used_at")
+    private Instant usedAt;
+
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+
+    public RefreshToken(String tokenHash, String familyId, Long userId, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isUsed() {
+        return usedAt != null;
+    }
+
+    public boolean isRevoked() {
+        return revokedAt != null;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    public void markUsed(Instant now) {
+        this.usedAt = now;
+    }
+}
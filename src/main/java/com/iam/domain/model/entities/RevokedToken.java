@@ -12,7 +12,8 @@ import java.time.Instant;
 @Table(
         name = "revoked_tokens",
         indexes = {
-                @Index(name = "idx_revoked_tokens_jti_hash", columnList = "jti_hash", unique = true)
+                @Index(name = "idx_revoked_tokens_jti_hash", columnList = "jti_hash", unique = true),
+                @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
         }
 )
 public class RevokedToken {
@@ -28,6 +28,14 @@ public class Role {
         return name.name();
     }
 
+    /**
+     * Whether a user may give this role to themselves on sign-up. Other roles (ADMIN, SYSTEM...) are granted by
+     * an administrator or by other bounded contexts through the ACL.
+     */
+    public boolean isSelfAssignable() {
+        return name == Roles.SELLER || name == Roles.BUYER;
+    }
+
     public static Role getDefaultRole() {
         return new Role(Roles.SELLER);
     }
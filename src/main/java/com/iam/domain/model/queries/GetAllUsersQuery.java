@@ -1,4 +1,20 @@
 package com.iam.domain.model.queries;
 
-public record GetAllUsersQuery()  {
+/**
+ * Keyset page of users ordered by id.
+ * @param after id of the last user of the previous page, {@code null} for the first page
+ * @param limit maximum number of users to return, clamped to [1, {@link #MAX_LIMIT}]
+ */
+public record GetAllUsersQuery(Long after, int limit) {
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    public GetAllUsersQuery {
+        if (after == null || after < 0) after = 0L;
+        limit = Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    public GetAllUsersQuery() {
+        this(null, DEFAULT_LIMIT);
+    }
 }
@@ -0,0 +1,19 @@
+package com.iam.domain.model.queries;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Lookup of several users at once, answered with a single query.
+ * @param userIds ids to resolve, at most {@link #MAX_IDS}; duplicates are ignored
+ */
+public record GetUsersByIdsQuery(List<Long> userIds) {
+    public static final int MAX_IDS = 5000;
+
+    public GetUsersByIdsQuery {
+        if (userIds == null) userIds = List.of();
+        if (userIds.size() > MAX_IDS)
+            throw new IllegalArgumentException("At most " + MAX_IDS + " user ids can be requested at once");
+        userIds = userIds.stream().filter(Objects::nonNull).distinct().toList();
+    }
+}
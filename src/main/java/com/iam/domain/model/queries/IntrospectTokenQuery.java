@@ -0,0 +1,4 @@
+package com.iam.domain.model.queries;
+
+public record IntrospectTokenQuery(String token) {
+}
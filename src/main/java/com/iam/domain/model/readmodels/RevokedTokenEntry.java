@@ -0,0 +1,11 @@
+package com.iam.domain.model.readmodels;
+
+import java.time.Instant;
+
+/**
+ * The columns of a revocation the revoked token cache needs, read without hydrating {@code RevokedToken} entities
+ * into the persistence context.
+ * @param jtiHash SHA-256 hex digest of the revoked jti
+ */
+public record RevokedTokenEntry(Long id, String jtiHash, Instant expiresAt) {
+}
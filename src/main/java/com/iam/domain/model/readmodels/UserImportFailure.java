@@ -0,0 +1,4 @@
+package com.iam.domain.model.readmodels;
+
+public record UserImportFailure(long line, String username, String reason) {
+}
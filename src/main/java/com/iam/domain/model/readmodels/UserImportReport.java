@@ -0,0 +1,20 @@
+package com.iam.domain.model.readmodels;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import.
+ * @param failures the failed rows, at most {@link #MAX_REPORTED_FAILURES}; {@code failed} is the full count
+ */
+public record UserImportReport(long received, long imported, long failed, long elapsedMillis,
+                               List<UserImportFailure> failures) {
+    public static final int MAX_REPORTED_FAILURES = 1000;
+
+    public UserImportReport {
+        failures = List.copyOf(failures);
+    }
+
+    public double usersPerSecond() {
+        return elapsedMillis == 0 ? imported : imported * 1000.0 / elapsedMillis;
+    }
+}
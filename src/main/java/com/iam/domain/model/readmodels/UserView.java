@@ -0,0 +1,13 @@
+package com.iam.domain.model.readmodels;
+
+import java.util.List;
+
+/**
+ * Read-only view of a user: identity and role names, without the password hash or audit dates.
+ * It is read with a single SQL statement, without hydrating the {@code User} aggregate.
+ */
+public record UserView(Long id, String username, List<String> roles) {
+    public UserView {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+}
@@ -0,0 +1,7 @@
+package com.iam.domain.model.valueobjects;
+
+/**
+ * Tokens issued at sign-in and on refresh: a short-lived JWT access token and an opaque, single-use refresh token.
+ */
+public record AuthenticationTokens(String accessToken, String refreshToken) {
+}
@@ -0,0 +1,26 @@
+package com.iam.domain.model.valueobjects;
+
+import java.util.List;
+
+/**
+ * One user read from a bulk import file.
+ * @param line the line number in the file, used to report failures
+ * @param error why the line could not be parsed, {@code null} when it was parsed
+ */
+public record UserImportRow(long line, String username, String password, List<String> roles, String error) {
+    public UserImportRow {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    public UserImportRow(long line, String username, String password, List<String> roles) {
+        this(line, username, password, roles, null);
+    }
+
+    public static UserImportRow malformed(long line, String error) {
+        return new UserImportRow(line, null, null, List.of(), error);
+    }
+
+    public boolean isMalformed() {
+        return error != null;
+    }
+}
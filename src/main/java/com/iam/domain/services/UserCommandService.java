@@ -7,11 +7,12 @@ import com.iam.domain.model.aggregates.User;
 import com.iam.domain.model.commands.RefreshTokenCommand;
 import com.iam.domain.model.commands.SignInCommand;
 import com.iam.domain.model.commands.SignUpCommand;
+import com.iam.domain.model.valueobjects.AuthenticationTokens;
 
 import java.util.Optional;
 
 public interface UserCommandService {
     Optional<User> handle(SignUpCommand command);
-    Optional<ImmutablePair<User, String>> handle(SignInCommand command);
-    Optional<ImmutablePair<User, String>> handle(RefreshTokenCommand command);
+    Optional<ImmutablePair<User, AuthenticationTokens>> handle(SignInCommand command);
+    Optional<ImmutablePair<User, AuthenticationTokens>> handle(RefreshTokenCommand command);
 }
@@ -2,16 +2,18 @@ package com.iam.domain.services;
 
 
 
-import com.iam.domain.model.aggregates.User;
 import com.iam.domain.model.queries.GetAllUsersQuery;
 import com.iam.domain.model.queries.GetUserByIdQuery;
 import com.iam.domain.model.queries.GetUserByUsernameQuery;
+import com.iam.domain.model.queries.GetUsersByIdsQuery;
+import com.iam.domain.model.readmodels.UserView;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface UserQueryService {
-    List<User> handle(GetAllUsersQuery query);
-    Optional<User> handle(GetUserByIdQuery query);
-    Optional<User> handle(GetUserByUsernameQuery query);
+    List<UserView> handle(GetAllUsersQuery query);
+    Optional<UserView> handle(GetUserByIdQuery query);
+    Optional<UserView> handle(GetUserByUsernameQuery query);
+    List<UserView> handle(GetUsersByIdsQuery query);
 }
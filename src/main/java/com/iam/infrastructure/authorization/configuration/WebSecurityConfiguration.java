@@ -1,10 +1,14 @@
 package com.iam.infrastructure.authorization.configuration;
 
 
-import com.iam.infrastructure.persistence.jpa.repositories.RevokedTokenRepository;
+import com.iam.infrastructure.metrics.AuthenticationMetrics;
+import com.iam.infrastructure.tokens.revocation.RevokedTokenCache;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -17,10 +21,18 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import com.iam.infrastructure.authorization.sfs.pipeline.BearerAuthorizationRequestFilter;
 import com.iam.infrastructure.hashing.bcrypt.BCryptHashingService;
 import com.iam.infrastructure.tokens.jwt.BearerTokenService;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
 @Configuration
 @EnableMethodSecurity
 public class WebSecurityConfiguration {
@@ -31,16 +43,30 @@ public class WebSecurityConfiguration {
     private final BearerTokenService tokenService;
     private final BCryptHashingService hashingService;
     private final AuthenticationEntryPoint unauthorizedRequestHandler;
-    private final RevokedTokenRepository revokedTokenRepository;
+    private final RevokedTokenCache revokedTokenCache;
+    private final AuthenticationMetrics authenticationMetrics;
+
+    @Value("${authorization.jwt.claims-authentication.enabled:false}")
+    private boolean claimsAuthenticationEnabled;
+
+    @Value("${authorization.jwt.claims-authentication.database-check-paths:}")
+    private String[] databaseCheckPaths;
+
+    @Value("${authorization.metrics.scrape-username:prometheus}")
+    private String scrapeUsername;
+
+    @Value("${authorization.metrics.scrape-password:}")
+    private String scrapePassword;
 
 
 
-    public WebSecurityConfiguration(@Qualifier("defaultUserDetailsService") UserDetailsService userDetailsService, BearerTokenService tokenService, BCryptHashingService hashingService, AuthenticationEntryPoint unauthorizedRequestHandler, RevokedTokenRepository revokedTokenRepository) {
+    public WebSecurityConfiguration(@Qualifier("defaultUserDetailsService") UserDetailsService userDetailsService, BearerTokenService tokenService, BCryptHashingService hashingService, AuthenticationEntryPoint unauthorizedRequestHandler, RevokedTokenCache revokedTokenCache, AuthenticationMetrics authenticationMetrics) {
         this.userDetailsService = userDetailsService;
         this.tokenService = tokenService;
         this.hashingService = hashingService;
         this.unauthorizedRequestHandler = unauthorizedRequestHandler;
-        this.revokedTokenRepository = revokedTokenRepository;
+        this.revokedTokenCache = revokedTokenCache;
+        this.authenticationMetrics = authenticationMetrics;
     }
 
 
@@ -65,7 +91,30 @@ public class WebSecurityConfiguration {
 
     @Bean
     public BearerAuthorizationRequestFilter authorizationRequestFilter() {
-        return new BearerAuthorizationRequestFilter(tokenService, revokedTokenRepository, userDetailsService);
+        return new BearerAuthorizationRequestFilter(tokenService, revokedTokenCache, userDetailsService,
+                claimsAuthenticationEnabled, databaseCheckRequestMatcher(), authenticationMetrics);
+    }
+
+    private RequestMatcher databaseCheckRequestMatcher() {
+        var matchers = Arrays.stream(databaseCheckPaths)
+                .filter(path -> !path.isBlank())
+                .map(path -> (RequestMatcher) AntPathRequestMatcher.antMatcher(path.trim()))
+                .toList();
+        return matchers.isEmpty() ? request -> false : new OrRequestMatcher(matchers);
+    }
+
+    // Prometheus se autentica con HTTP Basic y una credencial propia; sin contraseña configurada no entra nadie
+    private RequestMatcher prometheusScrape() {
+        var prometheus = AntPathRequestMatcher.antMatcher("/actuator/prometheus");
+        if (scrapePassword == null || scrapePassword.isBlank()) return request -> false;
+        var expected = ("Basic " + Base64.getEncoder().encodeToString(
+                (scrapeUsername + ":" + scrapePassword).getBytes(StandardCharsets.UTF_8)))
+                .getBytes(StandardCharsets.UTF_8);
+        return request -> {
+            var authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+            return authorization != null && prometheus.matches(request)
+                    && MessageDigest.isEqual(expected, authorization.getBytes(StandardCharsets.UTF_8));
+        };
     }
 
     @Bean
@@ -74,9 +123,16 @@ public class WebSecurityConfiguration {
                 .exceptionHandling(e -> e.authenticationEntryPoint(unauthorizedRequestHandler))
                 .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Las respuestas en streaming (export) ya fueron autorizadas en el dispatch original
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/api/v1/authentication/sign-in",
                                 "/api/v1/authentication/sign-up",
+                                // El refresh token viaja en el cuerpo; logout también acepta un access token expirado
+                                "/api/v1/authentication/refresh",
+                                "/api/v1/authentication/logout",
+                                // Llaves públicas para verificar tokens localmente (ES256/EdDSA)
+                                "/.well-known/jwks.json",
 
                                 // OpenAPI / Swagger (springdoc)
                                 "/v3/api-docs/**",
@@ -85,6 +141,9 @@ public class WebSecurityConfiguration {
                                 "/docs",
                                 "/actuator/health"
                         ).permitAll()
+                        // Métricas: el scraper con su credencial, o un administrador
+                        .requestMatchers(prometheusScrape()).permitAll()
+                        .requestMatchers("/actuator/prometheus").hasAuthority("ADMIN")
                         .anyRequest().authenticated()
                 );
 
@@ -7,12 +7,23 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import com.iam.domain.model.aggregates.User;
+import com.iam.domain.model.valueobjects.Roles;
+import com.iam.infrastructure.caching.UserPrincipal;
+import com.iam.infrastructure.tokens.jwt.model.VerifiedToken;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
 
 @Getter
 @EqualsAndHashCode
 public class UserDetailsImpl implements UserDetails {
+    // Los roles son fijos: una sola instancia de authority por rol
+    private static final Map<Roles, GrantedAuthority> AUTHORITIES = new EnumMap<>(Roles.class);
+    static {
+        Arrays.stream(Roles.values()).forEach(role -> AUTHORITIES.put(role, new SimpleGrantedAuthority(role.name())));
+    }
 
     private final String username;
     @JsonIgnore
@@ -35,8 +46,31 @@ public class UserDetailsImpl implements UserDetails {
     }
 
     public static UserDetailsImpl build (User user) {
-        var authorities = user.getRoles().stream().map(role -> role.getName().name())
-                .map(SimpleGrantedAuthority::new).toList();
+        var authorities = user.getRoles().stream().map(role -> AUTHORITIES.get(role.getName())).toList();
         return new UserDetailsImpl(user.getUsername(), user.getPassword(), authorities);
     }
+
+    public static UserDetailsImpl build(UserPrincipal principal) {
+        var authorities = principal.roles().stream().map(UserDetailsImpl::authorityOf).toList();
+        return new UserDetailsImpl(principal.username(), principal.passwordHash(), authorities);
+    }
+
+    /**
+     * Builds the principal straight from verified token claims, without loading the user.
+     * The password is not known in this case, so the principal cannot be used to re-authenticate credentials.
+     * @param token the verified token
+     * @return the principal with the roles carried by the token as authorities
+     */
+    public static UserDetailsImpl build(VerifiedToken token) {
+        var authorities = token.roles().stream().map(UserDetailsImpl::authorityOf).toList();
+        return new UserDetailsImpl(token.subject(), null, authorities);
+    }
+
+    private static GrantedAuthority authorityOf(String roleName) {
+        try {
+            return AUTHORITIES.get(Roles.valueOf(roleName));
+        } catch (IllegalArgumentException e) {
+            return new SimpleGrantedAuthority(roleName);
+        }
+    }
 }
@@ -1,7 +1,12 @@
 package com.iam.infrastructure.authorization.sfs.pipeline;
 
 
-import com.iam.infrastructure.persistence.jpa.repositories.RevokedTokenRepository;
+import com.iam.infrastructure.authorization.sfs.model.UserDetailsImpl;
+import com.iam.infrastructure.metrics.AuthenticationMetrics;
+import com.iam.infrastructure.tokens.jwt.model.VerifiedToken;
+import com.iam.infrastructure.tokens.revocation.JtiHashes;
+import com.iam.infrastructure.tokens.revocation.RevokedTokenCache;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,29 +16,41 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 import com.iam.infrastructure.authorization.sfs.model.UsernamePasswordAuthenticationTokenBuilder;
 import com.iam.infrastructure.tokens.jwt.BearerTokenService;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.util.HexFormat;
 
 public class BearerAuthorizationRequestFilter extends OncePerRequestFilter {
     private static final Logger LOGGER = LoggerFactory.getLogger(BearerAuthorizationRequestFilter.class);
     private final BearerTokenService tokenService;
-    private final RevokedTokenRepository revokedTokenRepository;
+    private final RevokedTokenCache revokedTokenCache;
 
 
     @Qualifier("defaultUserDetailsService")
     private final UserDetailsService  userDetailsService;
 
-    public BearerAuthorizationRequestFilter(BearerTokenService tokenService, RevokedTokenRepository revokedTokenRepository, UserDetailsService userDetailsService) {
+    private final boolean claimsAuthenticationEnabled;
+    private final RequestMatcher databaseCheckRequestMatcher;
+    private final AuthenticationMetrics metrics;
+
+    /**
+     * @param claimsAuthenticationEnabled when true, the principal is built from the token claims instead of loading the user
+     * @param databaseCheckRequestMatcher requests that always load the user from the database, even in claims mode
+     */
+    public BearerAuthorizationRequestFilter(BearerTokenService tokenService, RevokedTokenCache revokedTokenCache,
+                                            UserDetailsService userDetailsService, boolean claimsAuthenticationEnabled,
+                                            RequestMatcher databaseCheckRequestMatcher, AuthenticationMetrics metrics) {
         this.tokenService = tokenService;
-        this.revokedTokenRepository = revokedTokenRepository;
+        this.revokedTokenCache = revokedTokenCache;
         this.userDetailsService = userDetailsService;
+        this.claimsAuthenticationEnabled = claimsAuthenticationEnabled;
+        this.databaseCheckRequestMatcher = databaseCheckRequestMatcher;
+        this.metrics = metrics;
     }
 
     @Override
@@ -42,38 +59,8 @@ public class BearerAuthorizationRequestFilter extends OncePerRequestFilter {
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
         try {
             // Si ya hay Authentication, sigue
-            if (SecurityContextHolder.getContext().getAuthentication() != null) {
-                filterChain.doFilter(request, response);
+            if (SecurityContextHolder.getContext().getAuthentication() == null && !authenticate(request, response))
                 return;
-            }
-
-            String token = tokenService.getBearerTokenFrom(request);
-            if (token != null && tokenService.validateToken(token)) {
-
-                // 1) Bloquear si está revocado
-                String jti = tokenService.getJti(token); // asegúrate de tener este método en TokenServiceImpl
-                if (jti != null && !jti.isBlank()) {
-                    String jtiHash = sha256Hex(jti);
-                    if (jtiHash != null && revokedTokenRepository.existsByJtiHash(jtiHash)) {
-                        LOGGER.debug("JWT revocado (jti hash encontrado). Respondiendo 401.");
-                        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                        response.setContentType("application/json");
-                        response.getWriter().write("{\"error\":\"unauthorized\",\"message\":\"token revoked\"}");
-                        response.getWriter().flush();
-                        return; // NO continúes la cadena
-                    }
-                }
-
-                // 2) Autenticar
-                String username = tokenService.getUsernameFromToken(token);
-                var userDetails = userDetailsService.loadUserByUsername(username);
-                SecurityContextHolder.getContext().setAuthentication(
-                        UsernamePasswordAuthenticationTokenBuilder.build(userDetails, request)
-                );
-                LOGGER.debug("Autenticación establecida para '{}'", username);
-            } else {
-                LOGGER.debug("Sin token o token inválido (se permite continuar para endpoints públicos).");
-            }
         } catch (Exception e) {
             // Deja que el EntryPoint maneje si corresponde
             LOGGER.error("Error en filtro JWT: {}", e.getMessage());
@@ -82,15 +69,77 @@ public class BearerAuthorizationRequestFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private String sha256Hex(String value) {
+    /**
+     * Authenticates the request from its bearer token, if any.
+     * @return false if the request was rejected and the response is already written
+     */
+    private boolean authenticate(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // 1) Extraer el token
+        var stage = metrics.start();
+        String token = tokenService.getBearerTokenFrom(request);
+        metrics.recordFilterStage(stage, AuthenticationMetrics.STAGE_EXTRACTION,
+                token != null ? AuthenticationMetrics.OUTCOME_PRESENT : AuthenticationMetrics.OUTCOME_ABSENT);
+        if (token == null) {
+            metrics.countFilterOutcome(AuthenticationMetrics.OUTCOME_ABSENT);
+            LOGGER.debug("Sin token (se permite continuar para endpoints públicos).");
+            return true;
+        }
+
+        // 2) Una sola verificación de firma por request; el resultado queda en el request para los controllers
+        stage = metrics.start();
+        VerifiedToken claims;
         try {
-            var md = MessageDigest.getInstance("SHA-256");
-            var hash = md.digest(value.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(hash);
-        } catch (Exception e) {
-            LOGGER.error("No se pudo calcular SHA-256 del jti: {}", e.getMessage());
-            return null;
+            claims = tokenService.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            var outcome = AuthenticationMetrics.tokenOutcomeOf(e);
+            metrics.recordFilterStage(stage, AuthenticationMetrics.STAGE_VERIFICATION, outcome);
+            metrics.countFilterOutcome(outcome);
+            LOGGER.debug("Token inválido ({}): {}", outcome, e.getMessage());
+            return true;
         }
+        metrics.recordFilterStage(stage, AuthenticationMetrics.STAGE_VERIFICATION, AuthenticationMetrics.OUTCOME_VALID);
+        request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, claims);
+
+        // 3) Bloquear si está revocado
+        if (claims.hasJti()) {
+            stage = metrics.start();
+            String jtiHash = JtiHashes.sha256Hex(claims.jti());
+            var revoked = revokedTokenCache.isRevoked(jtiHash, claims.expiresAt());
+            metrics.recordFilterStage(stage, AuthenticationMetrics.STAGE_REVOCATION,
+                    revoked ? AuthenticationMetrics.OUTCOME_REVOKED : AuthenticationMetrics.OUTCOME_VALID);
+            if (revoked) {
+                metrics.countFilterOutcome(AuthenticationMetrics.OUTCOME_REVOKED);
+                LOGGER.debug("JWT revocado (jti hash encontrado). Respondiendo 401.");
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.setContentType("application/json");
+                response.getWriter().write("{\"error\":\"unauthorized\",\"message\":\"token revoked\"}");
+                response.getWriter().flush();
+                return false; // NO continúes la cadena
+            }
+        }
+
+        // 4) Autenticar (desde los claims, o desde la BD para endpoints sensibles)
+        stage = metrics.start();
+        String username = claims.subject();
+        var fromClaims = isClaimsAuthenticationAllowed(claims, request);
+        UserDetails userDetails = fromClaims
+                ? UserDetailsImpl.build(claims)
+                : userDetailsService.loadUserByUsername(username);
+        metrics.recordFilterStage(stage, AuthenticationMetrics.STAGE_USER_LOAD,
+                fromClaims ? AuthenticationMetrics.OUTCOME_CLAIMS : AuthenticationMetrics.OUTCOME_DATABASE);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationTokenBuilder.build(userDetails, request)
+        );
+        metrics.countFilterOutcome(AuthenticationMetrics.OUTCOME_VALID);
+        LOGGER.debug("Autenticación establecida para '{}'", username);
+        return true;
+    }
+
+    private boolean isClaimsAuthenticationAllowed(VerifiedToken claims, HttpServletRequest request) {
+        // Tokens sin roles (emitidos solo con username) siempre se resuelven contra la BD
+        return claimsAuthenticationEnabled
+                && !claims.roles().isEmpty()
+                && !databaseCheckRequestMatcher.matches(request);
     }
 }
 
@@ -6,20 +6,20 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import com.iam.infrastructure.authorization.sfs.model.UserDetailsImpl;
-import com.iam.infrastructure.persistence.jpa.repositories.UserRepository;
+import com.iam.infrastructure.caching.UserPrincipalCache;
 
 @Service("defaultUserDetailsService")
 public class UserDetailsServiceImpl implements UserDetailsService {
-    private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
-    public UserDetailsServiceImpl (UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public UserDetailsServiceImpl (UserPrincipalCache userPrincipalCache) {
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        var user = userRepository.findByUsername(username)
+        var principal = userPrincipalCache.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
-        return UserDetailsImpl.build(user);
+        return UserDetailsImpl.build(principal);
     }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.iam.infrastructure.caching;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * SingleFlight
+ * <p>
+ *     Coalesces concurrent loads of the same key: the first caller runs the loader and every caller that arrives
+ *     while it is in flight waits for and shares its result (or its exception). Nothing is kept once the load
+ *     completes, so this is not a cache; it only suits loaders whose result is the same for every caller at a given
+ *     moment, such as read-only lookups. Coalesced calls are counted as {@code iam.singleflight.coalesced}.
+ * </p>
+ * @param <K> the key type
+ * @param <V> the loaded value type
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.coalesced = Counter.builder("iam.singleflight.coalesced")
+                .description("Lookups served by a load already in flight for the same key")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        var call = new CompletableFuture<V>();
+        var existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        try {
+            var value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            // Propaga la misma excepción que recibió el primer llamador
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+}
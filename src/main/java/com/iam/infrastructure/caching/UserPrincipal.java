@@ -0,0 +1,23 @@
+package com.iam.infrastructure.caching;
+
+import com.iam.domain.model.aggregates.User;
+
+import java.util.List;
+
+/**
+ * Immutable snapshot of the user data needed to authenticate and identify a user.
+ */
+public record UserPrincipal(
+        Long id,
+        String username,
+        String passwordHash,
+        List<String> roles
+) {
+    public UserPrincipal {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    public static UserPrincipal of(User user) {
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getPassword(), user.getSerializedRoles());
+    }
+}
@@ -0,0 +1,85 @@
+package com.iam.infrastructure.caching;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.iam.infrastructure.persistence.jdbc.UserViewRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * UserPrincipalCache
+ * <p>
+ *     Bounded cache of {@link UserPrincipal}s keyed by username and by id. Entries expire after
+ *     {@code cache.users.expire-after-write-seconds} and the least used ones are evicted beyond
+ *     {@code cache.users.maximum-size}. Misses are loaded with a single projection query, without hydrating the
+ *     {@code User} aggregate. Command services evict a user when its password or roles change, once the
+ *     change is committed. Hit, miss and eviction statistics are published as {@code cache.*} meters.
+ * </p>
+ */
+@Component
+public class UserPrincipalCache {
+    private final UserViewRepository userViewRepository;
+    private final Cache<String, UserPrincipal> byUsername;
+    private final Cache<Long, UserPrincipal> byId;
+
+    public UserPrincipalCache(UserViewRepository userViewRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${cache.users.maximum-size:10000}") long maximumSize,
+                              @Value("${cache.users.expire-after-write-seconds:300}") long expireAfterWriteSeconds) {
+        this.userViewRepository = userViewRepository;
+        this.byUsername = newCache(maximumSize, expireAfterWriteSeconds);
+        this.byId = newCache(maximumSize, expireAfterWriteSeconds);
+        CaffeineCacheMetrics.monitor(meterRegistry, byUsername, "users-by-username");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users-by-id");
+    }
+
+    public Optional<UserPrincipal> findByUsername(String username) {
+        var principal = byUsername.get(username, key ->
+                userViewRepository.findPrincipalByUsername(key).orElse(null));
+        if (principal != null) byId.put(principal.id(), principal);
+        return Optional.ofNullable(principal);
+    }
+
+    public Optional<UserPrincipal> findById(Long id) {
+        var principal = byId.get(id, key ->
+                userViewRepository.findPrincipalById(key).orElse(null));
+        if (principal != null) byUsername.put(principal.username(), principal);
+        return Optional.ofNullable(principal);
+    }
+
+    /**
+     * Evicts the user once the current transaction commits, or right away if there is no transaction.
+     */
+    public void evictAfterCommit(Long id, String username) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(id, username);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(id, username);
+            }
+        });
+    }
+
+    public void evict(Long id, String username) {
+        if (id != null) byId.invalidate(id);
+        if (username != null) byUsername.invalidate(username);
+    }
+
+    private static <K> Cache<K, UserPrincipal> newCache(long maximumSize, long expireAfterWriteSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,198 @@
+package com.iam.infrastructure.caching;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.iam.infrastructure.tokens.jwt.model.VerifiedToken;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SecurityException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * VerifiedTokenCache
+ * <p>
+ *     Remembers the result of verifying a bearer token, keyed by the raw token string, so a client that reuses its
+ *     token costs a map lookup instead of a signature check. Verified claims are kept until the token expires,
+ *     capped by {@code authorization.jwt.verified-cache.max-ttl-seconds}; rejected tokens (bad signature, malformed,
+ *     expired) are kept for {@code negative-ttl-seconds} as the kind of failure and its message, and each hit throws
+ *     a fresh exception of the same type without a stack trace. Only the first rejection is logged. Both caches are bounded by {@code maximum-size} (0 disables them) and are cleared when
+ *     the signing keys rotate. Revocation is not cached here: it is checked on every request.
+ * </p>
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(VerifiedTokenCache.class);
+
+    private final boolean enabled;
+    private final Cache<String, VerifiedToken> verified;
+    private final Cache<String, Rejection> rejected;
+    private volatile long keyVersion;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+                              @Value("${authorization.jwt.verified-cache.maximum-size:10000}") long maximumSize,
+                              @Value("${authorization.jwt.verified-cache.max-ttl-seconds:300}") long maxTtlSeconds,
+                              @Value("${authorization.jwt.verified-cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.enabled = maximumSize > 0;
+        var maxTtl = Duration.ofSeconds(maxTtlSeconds);
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(Math.max(maximumSize, 0))
+                .expireAfter(untilExpiration(maxTtl))
+                .recordStats()
+                .build();
+        this.rejected = Caffeine.newBuilder()
+                .maximumSize(Math.max(maximumSize, 0))
+                .expireAfterWrite(Duration.ofSeconds(negativeTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "verified-tokens");
+        CaffeineCacheMetrics.monitor(meterRegistry, rejected, "rejected-tokens");
+    }
+
+    /**
+     * Returns the cached verification of the token, verifying it on a miss.
+     * @param token the raw bearer token
+     * @param keyVersion version of the key ring the verifier uses; a new version clears both caches
+     * @param verifier checks the signature and expiration, throwing {@link JwtException} or
+     *                 {@link IllegalArgumentException} if the token is not valid
+     * @return the verified claims
+     */
+    public VerifiedToken get(String token, long keyVersion, Function<String, VerifiedToken> verifier) {
+        if (!enabled || token == null) return verify(token, verifier);
+        if (keyVersion != this.keyVersion) clear(keyVersion);
+
+        var claims = verified.getIfPresent(token);
+        if (claims != null) return claims;
+        var rejection = rejected.getIfPresent(token);
+        if (rejection != null) throw rejection.toException();
+
+        try {
+            claims = verify(token, verifier);
+        } catch (JwtException | IllegalArgumentException e) {
+            rejected.put(token, Rejection.of(e));
+            throw e;
+        }
+        verified.put(token, claims);
+        return claims;
+    }
+
+    // private methods
+
+    private static VerifiedToken verify(String token, Function<String, VerifiedToken> verifier) {
+        try {
+            return verifier.apply(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Se registra solo al verificar; los reintentos con el mismo token salen del cache negativo
+            LOGGER.warn("Rejected JSON Web Token ({}): {}", e.getClass().getSimpleName(), e.getMessage());
+            throw e;
+        }
+    }
+
+    private synchronized void clear(long newKeyVersion) {
+        if (newKeyVersion == keyVersion) return;
+        verified.invalidateAll();
+        rejected.invalidateAll();
+        keyVersion = newKeyVersion;
+    }
+
+    // Nunca más allá del exp del token; una lectura no extiende la vida de la entrada
+    private static Expiry<String, VerifiedToken> untilExpiration(Duration maxTtl) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String token, VerifiedToken claims, long currentTime) {
+                if (claims.expiresAt() == null) return maxTtl.toNanos();
+                var remaining = Duration.between(Instant.now(), claims.expiresAt());
+                if (remaining.isNegative()) return 0;
+                return Math.min(remaining.toNanos(), maxTtl.toNanos());
+            }
+
+            @Override
+            public long expireAfterUpdate(String token, VerifiedToken claims, long currentTime, long currentDuration) {
+                return expireAfterCreate(token, claims, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String token, VerifiedToken claims, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    /**
+     * What is kept of a rejected token: the kind of failure and its message, never the exception itself, which
+     * would pin its stack trace and be shared by every thread that hits the entry.
+     */
+    private record Rejection(Kind kind, String message) {
+
+        static Rejection of(RuntimeException e) {
+            return new Rejection(Kind.of(e), e.getMessage());
+        }
+
+        RuntimeException toException() {
+            // Excepciones nuevas sin stack trace: un hit del cache negativo no debe costar más que la verificación
+            return switch (kind) {
+                case EXPIRED -> new ExpiredJwtException(null, null, message) {
+                    @Override
+                    public synchronized Throwable fillInStackTrace() {
+                        return this;
+                    }
+                };
+                case BAD_SIGNATURE -> new SignatureException(message) {
+                    @Override
+                    public synchronized Throwable fillInStackTrace() {
+                        return this;
+                    }
+                };
+                case SECURITY -> new SecurityException(message) {
+                    @Override
+                    public synchronized Throwable fillInStackTrace() {
+                        return this;
+                    }
+                };
+                case UNSUPPORTED -> new UnsupportedJwtException(message) {
+                    @Override
+                    public synchronized Throwable fillInStackTrace() {
+                        return this;
+                    }
+                };
+                case MALFORMED -> new MalformedJwtException(message) {
+                    @Override
+                    public synchronized Throwable fillInStackTrace() {
+                        return this;
+                    }
+                };
+                case ILLEGAL_ARGUMENT -> new IllegalArgumentException(message) {
+                    @Override
+                    public synchronized Throwable fillInStackTrace() {
+                        return this;
+                    }
+                };
+            };
+        }
+    }
+
+    private enum Kind {
+        EXPIRED, BAD_SIGNATURE, SECURITY, UNSUPPORTED, MALFORMED, ILLEGAL_ARGUMENT;
+
+        static Kind of(RuntimeException e) {
+            if (e instanceof ExpiredJwtException) return EXPIRED;
+            if (e instanceof SignatureException) return BAD_SIGNATURE;
+            if (e instanceof SecurityException) return SECURITY;
+            if (e instanceof UnsupportedJwtException) return UNSUPPORTED;
+            if (e instanceof IllegalArgumentException) return ILLEGAL_ARGUMENT;
+            return MALFORMED;
+        }
+    }
+}
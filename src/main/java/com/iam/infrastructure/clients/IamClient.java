@@ -1,14 +1,24 @@
 package com.iam.infrastructure.clients;
 
 import com.iam.interfaces.rest.resources.UserResource;
-import com.iam.interfaces.rest.resources.UserSummary;
+import com.iam.interfaces.rest.resources.UsersBatchResource;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
-@FeignClient(name = "iam-service", path = "/api/v1/authentication/users")
+import java.util.List;
+
+@FeignClient(name = "iam-service", path = "/api/v1/users")
 public interface IamClient {
 
     @GetMapping("/{id}")
     UserResource getUser(@PathVariable Long id);
+
+    /**
+     * Resolves several users in one call instead of one {@link #getUser(Long)} per id.
+     */
+    @PostMapping("/batch")
+    List<UserResource> getUsers(@RequestBody UsersBatchResource resource);
 }
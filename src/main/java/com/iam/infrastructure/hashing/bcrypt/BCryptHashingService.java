@@ -5,4 +5,6 @@ import com.iam.application.internal.outboundservices.hashing.HashingService;
 
 public interface BCryptHashingService  extends HashingService, PasswordEncoder {
 
+    @Override
+    boolean upgradeEncoding(String encodedPassword);
 }
@@ -1,25 +1,254 @@
 package com.iam.infrastructure.hashing.bcrypt.services;
 
-//import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import com.iam.domain.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.stereotype.Service;
 import com.iam.infrastructure.hashing.bcrypt.BCryptHashingService;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HashingServiceImpl
+ * <p>
+ *     Hashes are stored with an algorithm prefix ({@code {bcrypt}}, {@code {argon2}}, {@code {pbkdf2}}) and new hashes
+ *     use {@code authorization.hashing.algorithm}. Hashes without prefix are legacy BCrypt hashes and are still
+ *     verified; {@link #upgradeEncoding} reports hashes that use another algorithm or weaker parameters so they can
+ *     be re-hashed on the next successful sign-in.
+ * </p>
+ * <p>
+ *     Hashing runs on a dedicated, bounded pool instead of the servlet threads, so a burst of sign-ins
+ *     or sign-ups cannot take every CPU away from cheap endpoints. When the queue is full, or a hash is not done
+ *     within {@code authorization.hashing.max-wait-ms}, the request is shed with a {@link TooManyRequestsException}.
+ *     Bulk hashing ({@link #encodeAll}) never sheds: it keeps at most half of the hashing threads busy and waits
+ *     for room in the queue.
+ * </p>
+ */
 @Service
 public class HashingServiceImpl  implements BCryptHashingService {
-    private final BCryptPasswordEncoder passwordEncoder;
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+    public static final String PBKDF2 = "pbkdf2";
+    private static final long BULK_RETRY_MILLIS = 10;
+
+    private final DelegatingPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+    private final Semaphore bulkPermits;
+
+    private final Timer encodeQueueWait;
+    private final Timer encodeDuration;
+    private final Timer matchesQueueWait;
+    private final Timer matchesDuration;
+    private final Counter rejected;
+
+    public HashingServiceImpl(MeterRegistry meterRegistry,
+                              @Value("${authorization.hashing.algorithm:bcrypt}") String algorithm,
+                              @Value("${authorization.hashing.bcrypt.strength:10}") int strength,
+                              @Value("${authorization.hashing.argon2.memory-kib:19456}") int argon2MemoryKib,
+                              @Value("${authorization.hashing.argon2.iterations:2}") int argon2Iterations,
+                              @Value("${authorization.hashing.argon2.parallelism:1}") int argon2Parallelism,
+                              @Value("${authorization.hashing.pool-size:0}") int poolSize,
+                              @Value("${authorization.hashing.queue-capacity:64}") int queueCapacity,
+                              @Value("${authorization.hashing.max-wait-ms:2000}") long maxWaitMillis) {
+        this.passwordEncoder = delegatingPasswordEncoder(algorithm, strength,
+                argon2MemoryKib, argon2Iterations, argon2Parallelism);
+        this.maxWaitMillis = maxWaitMillis;
 
-    public HashingServiceImpl() {
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        var threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        var threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    var thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.bulkPermits = new Semaphore(Math.max(1, threads / 2));
+
+        this.encodeQueueWait = queueWaitTimer(meterRegistry, "encode");
+        this.encodeDuration = durationTimer(meterRegistry, "encode");
+        this.matchesQueueWait = queueWaitTimer(meterRegistry, "matches");
+        this.matchesDuration = durationTimer(meterRegistry, "matches");
+        this.rejected = Counter.builder("iam.hashing.rejected")
+                .description("Hashing requests shed because the hashing pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("iam.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Hashing requests waiting for a hashing thread")
+                .register(meterRegistry);
     }
 
     @Override
     public String encode(CharSequence rawPassword) {
-        return passwordEncoder.encode(rawPassword);
+        return execute(() -> passwordEncoder.encode(rawPassword), encodeQueueWait, encodeDuration);
+    }
+
+    @Override
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        var futures = new ArrayList<Future<String>>(rawPasswords.size());
+        try {
+            for (var rawPassword : rawPasswords) {
+                futures.add(submitBulk(() -> passwordEncoder.encode(rawPassword)));
+            }
+            var hashes = new ArrayList<String>(futures.size());
+            for (var future : futures) hashes.add(future.get());
+            return hashes;
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
     }
 
     @Override
     public boolean matches(CharSequence rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        return execute(() -> passwordEncoder.matches(rawPassword, encodedPassword), matchesQueueWait, matchesDuration);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // private methods
+
+    private static DelegatingPasswordEncoder delegatingPasswordEncoder(String algorithm, int bcryptStrength,
+                                                                       int argon2MemoryKib, int argon2Iterations,
+                                                                       int argon2Parallelism) {
+        var bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                BCRYPT, bcrypt,
+                ARGON2, new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2MemoryKib, argon2Iterations),
+                PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8()
+        );
+        if (!encoders.containsKey(algorithm))
+            throw new IllegalArgumentException("Unsupported password hashing algorithm: " + algorithm);
+
+        var delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        // Hashes guardados antes de usar prefijos son BCrypt
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+
+    private <T> T execute(Callable<T> task, Timer queueWait, Timer duration) {
+        var submittedAt = System.nanoTime();
+        Callable<T> timedTask = () -> {
+            var startedAt = System.nanoTime();
+            queueWait.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+            try {
+                return task.call();
+            } finally {
+                duration.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        };
+
+        Future<T> future;
+        try {
+            future = executor.submit(timedTask);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many concurrent authentication requests, retry later");
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Igual que en el bulk: si el hash ya empezó se interrumpe, nadie va a leer su resultado
+            future.cancel(true);
+            rejected.increment();
+            throw new TooManyRequestsException("Too many concurrent authentication requests, retry later");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Submits a bulk hash holding one bulk permit. The permit is released when the task is done, whichever way:
+     * completed, failed, or cancelled while still in the queue, where it would never run.
+     */
+    private <T> Future<T> submitBulk(Callable<T> task) throws InterruptedException {
+        bulkPermits.acquire();
+        var bulkTask = new FutureTask<T>(() -> {
+            var startedAt = System.nanoTime();
+            try {
+                return task.call();
+            } finally {
+                encodeDuration.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        }) {
+            @Override
+            protected void done() {
+                bulkPermits.release();
+            }
+        };
+        while (true) {
+            try {
+                executor.execute(bulkTask);
+                return bulkTask;
+            } catch (RejectedExecutionException e) {
+                if (executor.isShutdown()) {
+                    bulkTask.cancel(false);
+                    throw e;
+                }
+            }
+            // Cola llena por tráfico interactivo: el trabajo masivo espera en lugar de fallar
+            try {
+                Thread.sleep(BULK_RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                bulkTask.cancel(false);
+                throw e;
+            }
+        }
+    }
+
+    private static Timer queueWaitTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("iam.hashing.queue.wait")
+                .description("Time a hashing request waits for a hashing thread")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static Timer durationTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("iam.hashing.duration")
+                .description("Time spent computing the password hash")
+                .tag("operation", operation)
+                .register(meterRegistry);
     }
 }
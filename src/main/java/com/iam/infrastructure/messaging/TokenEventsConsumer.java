@@ -0,0 +1,45 @@
+package com.iam.infrastructure.messaging;
+
+import com.iam.infrastructure.messaging.events.TokenRevokedEvent;
+import com.iam.infrastructure.tokens.revocation.RevokedTokenCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+/**
+ * TokenEventsConsumer
+ * <p>
+ *     Applies the revocations published by any node (including this one) to the local {@link RevokedTokenCache}.
+ *     Every instance assigns itself all the partitions of the topic, without a consumer group, so each node receives
+ *     every revocation and no group is left behind on the broker when a node restarts. The partitions come from
+ *     {@code messaging.token-revoked.partitions}, which must match the topic (it is created with that count), so
+ *     startup never asks the broker and the service boots without Kafka. Nothing is committed: a node starts at the
+ *     end of the topic and the revocations it missed are loaded from the database.
+ * </p>
+ */
+@Component
+public class TokenEventsConsumer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenEventsConsumer.class);
+
+    private final RevokedTokenCache revokedTokenCache;
+
+    public TokenEventsConsumer(RevokedTokenCache revokedTokenCache) {
+        this.revokedTokenCache = revokedTokenCache;
+    }
+
+    @KafkaListener(
+            id = "tokenRevokedListener",
+            idIsGroup = false,
+            // Asignación manual de todas las particiones: sin grupo de consumidores que registrar en el broker
+            topicPartitions = @TopicPartition(topic = TokenEventsProducer.TOKEN_REVOKED_TOPIC,
+                    partitions = "#{'0-' + (${messaging.token-revoked.partitions:3} - 1)}"),
+            containerFactory = "tokenRevokedListenerContainerFactory"
+    )
+    public void onTokenRevoked(TokenRevokedEvent event) {
+        if (event == null || event.jtiHash() == null) return;
+        revokedTokenCache.add(event.jtiHash(), event.expiresAt());
+        LOGGER.debug("Token revocation received for jti hash {}", event.jtiHash());
+    }
+}
@@ -0,0 +1,28 @@
+package com.iam.infrastructure.messaging;
+
+import com.iam.infrastructure.messaging.events.TokenRevokedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TokenEventsProducer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenEventsProducer.class);
+
+    public static final String TOKEN_REVOKED_TOPIC = "token-revoked";
+
+    private final KafkaTemplate<String, TokenRevokedEvent> kafkaTemplate;
+
+    public TokenEventsProducer(KafkaTemplate<String, TokenRevokedEvent> kafkaTemplate) {
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    public void publishTokenRevoked(TokenRevokedEvent event) {
+        kafkaTemplate.send(TOKEN_REVOKED_TOPIC, event.jtiHash(), event)
+                .whenComplete((result, ex) -> {
+                    // Si falla, los demás nodos lo recogen en la sincronización periódica con la BD
+                    if (ex != null) LOGGER.warn("Could not publish token revocation: {}", ex.getMessage());
+                });
+    }
+}
@@ -2,21 +2,53 @@
 package com.iam.infrastructure.messaging;
 
 import com.iam.infrastructure.messaging.events.UserRegisteredEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.stereotype.Component;
+import org.springframework.kafka.support.SendResult;
 
-@Component
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Publishes user events. Registrations go through the outbox ({@code UserEventsOutbox}), whose relay calls this
+ * producer and waits on the returned futures. Each send is timed from submission to broker acknowledgement as
+ * {@code iam.kafka.send}, tagged with the topic and the outcome. Built by {@code UserEventsKafkaConfiguration}.
+ */
 public class UserEventsProducer {
 
-    private static final String TOPIC = "user-registered";
+    public static final String USER_REGISTERED_TOPIC = "user-registered";
 
     private final KafkaTemplate<String, UserRegisteredEvent> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer sendSuccess;
+    private final Timer sendFailure;
 
-    public UserEventsProducer(KafkaTemplate<String, UserRegisteredEvent> kafkaTemplate) {
+    public UserEventsProducer(KafkaTemplate<String, UserRegisteredEvent> kafkaTemplate, MeterRegistry meterRegistry) {
         this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.sendSuccess = sendTimer(meterRegistry, "success");
+        this.sendFailure = sendTimer(meterRegistry, "failure");
+    }
+
+    public CompletableFuture<SendResult<String, UserRegisteredEvent>> publishUserRegistered(UserRegisteredEvent event) {
+        var sample = Timer.start(meterRegistry);
+        return kafkaTemplate.send(USER_REGISTERED_TOPIC, event.userId().toString(), event)
+                .whenComplete((result, ex) -> sample.stop(ex == null ? sendSuccess : sendFailure));
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("iam.kafka.send")
+                .description("Time from send to broker acknowledgement")
+                .tag("topic", USER_REGISTERED_TOPIC)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
-    public void publishUserRegistered(UserRegisteredEvent event) {
-        kafkaTemplate.send(TOPIC, event.userId().toString(), event);
+    @PreDestroy
+    public void close() {
+        // Envía lo pendiente y cierra el productor dedicado
+        kafkaTemplate.flush();
+        kafkaTemplate.getProducerFactory().reset();
     }
 }
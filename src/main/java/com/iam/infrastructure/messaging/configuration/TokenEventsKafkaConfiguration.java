@@ -0,0 +1,56 @@
+package com.iam.infrastructure.messaging.configuration;
+
+import com.iam.infrastructure.messaging.TokenEventsProducer;
+import com.iam.infrastructure.messaging.events.TokenRevokedEvent;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+@Configuration
+public class TokenEventsKafkaConfiguration {
+
+    // El consumer se asigna estas particiones sin preguntar al broker; KafkaAdmin crea el topic (o lo amplía) al arrancar
+    @Bean
+    public NewTopic tokenRevokedTopic(@Value("${messaging.token-revoked.partitions:3}") int partitions) {
+        return TopicBuilder.name(TokenEventsProducer.TOKEN_REVOKED_TOPIC).partitions(partitions).build();
+    }
+
+    @Bean
+    public ConsumerFactory<String, TokenRevokedEvent> tokenRevokedConsumerFactory(KafkaProperties kafkaProperties) {
+        var properties = kafkaProperties.buildConsumerProperties(null);
+        // Sin grupo ni commits: solo interesan las revocaciones nuevas, el resto se carga desde la BD
+        properties.remove(ConsumerConfig.GROUP_ID_CONFIG);
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        var valueDeserializer = new JsonDeserializer<>(TokenRevokedEvent.class, false);
+        return new DefaultKafkaConsumerFactory<>(properties,
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(valueDeserializer));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<?, ?> tokenRevokedListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<String, TokenRevokedEvent> tokenRevokedConsumerFactory) {
+        // El configurer de Boot solo acepta fábricas <Object, Object>. El cast es seguro: los genéricos se borran y
+        // los tipos reales de los registros los fijan los deserializers de tokenRevokedConsumerFactory
+        @SuppressWarnings("unchecked")
+        var consumerFactory = (ConsumerFactory<Object, Object>) (ConsumerFactory<?, ?>) tokenRevokedConsumerFactory;
+        var factory = new ConcurrentKafkaListenerContainerFactory<Object, Object>();
+        // Aplica spring.kafka.listener.* y, con spring.threads.virtual.enabled, el executor de hilos virtuales
+        configurer.configure(factory, consumerFactory);
+        return factory;
+    }
+}
@@ -0,0 +1,62 @@
+package com.iam.infrastructure.messaging.configuration;
+
+import com.iam.infrastructure.messaging.UserEventsProducer;
+import com.iam.infrastructure.messaging.events.UserRegisteredEvent;
+import com.iam.infrastructure.messaging.serialization.UserRegisteredEventBinarySerde;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Dedicated Kafka producer for user events, tuned for throughput (the outbox relay sends them in bulk) independently
+ * of the shared {@code spring.kafka.producer.*} settings used by the other producers.
+ * <p>
+ *     The producer factory and template are not exposed as beans on purpose: a {@code ProducerFactory} or
+ *     {@code KafkaTemplate} bean would switch off the auto-configured ones that {@code TokenEventsProducer} uses.
+ * </p>
+ */
+@Configuration
+public class UserEventsKafkaConfiguration {
+    public static final String JSON_FORMAT = "json";
+    public static final String BINARY_FORMAT = "binary";
+
+    @Bean
+    public UserEventsProducer userEventsProducer(
+            KafkaProperties kafkaProperties,
+            MeterRegistry meterRegistry,
+            @Value("${messaging.user-events.producer.linger-ms:20}") int lingerMs,
+            @Value("${messaging.user-events.producer.batch-size:131072}") int batchSize,
+            @Value("${messaging.user-events.producer.compression-type:lz4}") String compressionType,
+            @Value("${messaging.user-events.producer.format:json}") String format) {
+        var properties = kafkaProperties.buildProducerProperties(null);
+        properties.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        properties.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        properties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        properties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        properties.put(ProducerConfig.ACKS_CONFIG, "all");
+
+        var producerFactory = new DefaultKafkaProducerFactory<>(properties,
+                new StringSerializer(), valueSerializer(format));
+        return new UserEventsProducer(new KafkaTemplate<>(producerFactory), meterRegistry);
+    }
+
+    private static Serializer<UserRegisteredEvent> valueSerializer(String format) {
+        return switch (format) {
+            case JSON_FORMAT -> {
+                var serializer = new JsonSerializer<UserRegisteredEvent>();
+                serializer.setAddTypeInfo(false);
+                yield serializer;
+            }
+            case BINARY_FORMAT -> new UserRegisteredEventBinarySerde();
+            default -> throw new IllegalArgumentException("Unsupported user events format: " + format);
+        };
+    }
+}
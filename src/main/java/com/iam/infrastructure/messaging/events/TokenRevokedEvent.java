@@ -0,0 +1,9 @@
+package com.iam.infrastructure.messaging.events;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+public record TokenRevokedEvent(
+        String jtiHash,
+        Instant expiresAt
+) implements Serializable {}
@@ -0,0 +1,64 @@
+package com.iam.infrastructure.messaging.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iam.infrastructure.messaging.UserEventsProducer;
+import com.iam.infrastructure.messaging.events.UserRegisteredEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * UserEventsOutbox
+ * <p>
+ *     Writes {@link UserRegisteredEvent}s to {@code outbox_messages} in the caller's transaction, so an event exists
+ *     if and only if the registration commits, and the caller never waits for the broker.
+ *     {@link UserEventsOutboxRelay} publishes them afterwards.
+ * </p>
+ */
+@Component
+public class UserEventsOutbox {
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_messages (topic, message_key, payload, created_at, attempts) VALUES (?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public UserEventsOutbox(DataSource dataSource, ObjectMapper objectMapper) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(UserRegisteredEvent event) {
+        enqueueAll(List.of(event));
+    }
+
+    /**
+     * Writes the events with a single JDBC batch.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(List<UserRegisteredEvent> events) {
+        if (events.isEmpty()) return;
+        var now = Timestamp.from(Instant.now());
+        var args = events.stream()
+                .map(event -> new Object[]{UserEventsProducer.USER_REGISTERED_TOPIC, event.userId().toString(),
+                        toJson(event), now})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+    private String toJson(UserRegisteredEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + event, e);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.iam.infrastructure.messaging.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iam.domain.model.entities.OutboxMessage;
+import com.iam.infrastructure.messaging.UserEventsProducer;
+import com.iam.infrastructure.messaging.events.UserRegisteredEvent;
+import com.iam.infrastructure.persistence.jpa.repositories.OutboxMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * UserEventsOutboxRelay
+ * <p>
+ *     Drains {@code outbox_messages} to Kafka. Each batch is claimed in a short transaction: the rows are locked with
+ *     {@code FOR UPDATE SKIP LOCKED} and their {@code available_at} is moved past the send timeout, so no other relay
+ *     picks them up once the lock is gone. Messages are then sent with no transaction or connection held, every one
+ *     handed to the producer before waiting for any acknowledgement (so the producer can group them into a few
+ *     requests), and a second transaction deletes the acknowledged ones. Failed messages stay in the outbox, with
+ *     their {@code attempts} counter increased, and are retried on the next run; delivery is at least once. After
+ *     {@code messaging.outbox.max-attempts} failures a message is parked: it stays in the table but is no longer
+ *     claimed until its {@code attempts} are reset. Messages whose payload cannot be read are logged and dropped,
+ *     since no retry can publish them. If the relay dies after claiming, the claim expires and another run retries.
+ * </p>
+ */
+@Component
+public class UserEventsOutboxRelay {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserEventsOutboxRelay.class);
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final UserEventsProducer userEventsProducer;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatches;
+    private final long sendTimeoutMillis;
+    private final int maxAttempts;
+    private final Duration claimDuration;
+    private final Counter relayed;
+    private final Counter failed;
+    private final Counter parked;
+
+    public UserEventsOutboxRelay(OutboxMessageRepository outboxMessageRepository,
+                                 UserEventsProducer userEventsProducer,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${messaging.outbox.batch-size:500}") int batchSize,
+                                 @Value("${messaging.outbox.max-batches:20}") int maxBatches,
+                                 @Value("${messaging.outbox.send-timeout-ms:10000}") long sendTimeoutMillis,
+                                 @Value("${messaging.outbox.max-attempts:20}") int maxAttempts) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.userEventsProducer = userEventsProducer;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.maxAttempts = maxAttempts;
+        // Margen sobre el timeout para que el claim no expire mientras aún esperamos los acks
+        this.claimDuration = Duration.ofMillis(sendTimeoutMillis * 2);
+        this.relayed = Counter.builder("iam.outbox.relayed")
+                .description("Outbox messages published and deleted")
+                .tag("topic", UserEventsProducer.USER_REGISTERED_TOPIC)
+                .register(meterRegistry);
+        this.failed = Counter.builder("iam.outbox.failed")
+                .description("Outbox messages that could not be published and will be retried")
+                .tag("topic", UserEventsProducer.USER_REGISTERED_TOPIC)
+                .register(meterRegistry);
+        this.parked = Counter.builder("iam.outbox.parked")
+                .description("Outbox messages that used up their attempts and are no longer retried")
+                .tag("topic", UserEventsProducer.USER_REGISTERED_TOPIC)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${messaging.outbox.poll-interval-ms:500}")
+    public void relay() {
+        for (int batch = 0; batch < maxBatches; batch++) {
+            var outcome = relayBatch();
+            if (outcome.claimed() < batchSize || outcome.failed() > 0) break;
+        }
+    }
+
+    private BatchOutcome relayBatch() {
+        var messages = transactionTemplate.execute(status -> claimNextBatch());
+        if (messages == null || messages.isEmpty()) return new BatchOutcome(0, 0);
+
+        // Sin transacción abierta: todos los envíos salen antes de esperar y el producer los agrupa en batches
+        var sends = new ArrayList<CompletableFuture<?>>(messages.size());
+        for (var message : messages) sends.add(send(message));
+
+        var sentIds = new ArrayList<Long>(messages.size());
+        var failedIds = new ArrayList<Long>();
+        var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        for (int i = 0; i < messages.size(); i++) {
+            var message = messages.get(i);
+            var send = sends.get(i);
+            if (send == null) sentIds.add(message.getId()); // ilegible: se descarta
+            else if (await(send, message, deadline)) sentIds.add(message.getId());
+            else {
+                failedIds.add(message.getId());
+                if (message.getAttempts() + 1 >= maxAttempts) park(message);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) outboxMessageRepository.deleteAllByIdInBatch(sentIds);
+            if (!failedIds.isEmpty()) outboxMessageRepository.incrementAttempts(failedIds, Instant.now());
+        });
+        relayed.increment(sentIds.size());
+        failed.increment(failedIds.size());
+        return new BatchOutcome(messages.size(), failedIds.size());
+    }
+
+    private List<OutboxMessage> claimNextBatch() {
+        var now = Instant.now();
+        var messages = outboxMessageRepository.lockNextBatch(
+                UserEventsProducer.USER_REGISTERED_TOPIC, now, maxAttempts, batchSize);
+        if (!messages.isEmpty()) {
+            outboxMessageRepository.claimUntil(messages.stream().map(OutboxMessage::getId).toList(),
+                    now.plus(claimDuration));
+        }
+        return messages;
+    }
+
+    private void park(OutboxMessage message) {
+        parked.increment();
+        LOGGER.error("Parking outbox message {} after {} failed attempts; reset its attempts to retry it",
+                message.getId(), maxAttempts);
+    }
+
+    /**
+     * @return the pending send, or {@code null} when the payload cannot be read
+     */
+    private CompletableFuture<?> send(OutboxMessage message) {
+        UserRegisteredEvent event;
+        try {
+            event = objectMapper.readValue(message.getPayload(), UserRegisteredEvent.class);
+        } catch (Exception e) {
+            LOGGER.error("Dropping unreadable outbox message {}: {} ({})", message.getId(), message.getPayload(),
+                    e.getMessage());
+            return null;
+        }
+        try {
+            return userEventsProducer.publishUserRegistered(event);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private boolean await(CompletableFuture<?> send, OutboxMessage message, long deadline) {
+        try {
+            send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            var cause = e instanceof ExecutionException ? e.getCause() : e;
+            LOGGER.warn("Could not publish outbox message {} (attempt {}): {}",
+                    message.getId(), message.getAttempts() + 1, cause.toString());
+            return false;
+        }
+    }
+
+    private record BatchOutcome(int claimed, int failed) {
+    }
+}
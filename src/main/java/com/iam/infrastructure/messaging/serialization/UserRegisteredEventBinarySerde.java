@@ -0,0 +1,83 @@
+package com.iam.infrastructure.messaging.serialization;
+
+import com.iam.infrastructure.messaging.events.UserRegisteredEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * UserRegisteredEventBinarySerde
+ * <p>
+ *     Compact binary encoding of {@link UserRegisteredEvent}, as an alternative to JSON: a format version byte, the
+ *     user id as a big-endian long, then the username and each role as modified UTF-8 strings preceded by the role
+ *     count, one unsigned byte. Events with more than {@value #MAX_ROLES} roles are rejected. Records carry a {@value #CONTENT_TYPE_HEADER} header with {@value #CONTENT_TYPE} so consumers can tell
+ *     the formats apart. Consumers use the same class as their value deserializer.
+ * </p>
+ */
+public class UserRegisteredEventBinarySerde implements Serializer<UserRegisteredEvent>, Deserializer<UserRegisteredEvent> {
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String CONTENT_TYPE = "application/vnd.iam.user-registered.v1+binary";
+    public static final int MAX_ROLES = 255;
+    private static final byte VERSION = 1;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, UserRegisteredEvent data) {
+        if (data != null) headers.add(CONTENT_TYPE_HEADER, CONTENT_TYPE.getBytes(StandardCharsets.UTF_8));
+        return serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, UserRegisteredEvent data) {
+        if (data == null) return null;
+        // El número de roles ocupa un byte: truncarlo corrompería el evento en silencio
+        if (data.roles().size() > MAX_ROLES)
+            throw new SerializationException("Cannot serialize UserRegisteredEvent with " + data.roles().size()
+                    + " roles; at most " + MAX_ROLES + " are supported");
+        var bytes = new ByteArrayOutputStream(16 + data.username().length() + 12 * data.roles().size());
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeLong(data.userId());
+            out.writeUTF(data.username());
+            out.writeByte(data.roles().size());
+            for (var role : data.roles()) out.writeUTF(role);
+        } catch (IOException e) {
+            throw new SerializationException("Cannot serialize " + data, e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public UserRegisteredEvent deserialize(String topic, byte[] data) {
+        if (data == null) return null;
+        try (var in = new DataInputStream(new ByteArrayInputStream(data))) {
+            var version = in.readByte();
+            if (version != VERSION) throw new SerializationException("Unsupported UserRegisteredEvent version " + version);
+            var userId = in.readLong();
+            var username = in.readUTF();
+            var roleCount = in.readUnsignedByte();
+            var roles = new ArrayList<String>(roleCount);
+            for (int i = 0; i < roleCount; i++) roles.add(in.readUTF());
+            return new UserRegisteredEvent(userId, username, roles);
+        } catch (IOException e) {
+            throw new SerializationException("Cannot deserialize UserRegisteredEvent", e);
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+}
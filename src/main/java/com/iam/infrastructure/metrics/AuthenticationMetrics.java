@@ -0,0 +1,125 @@
+package com.iam.infrastructure.metrics;
+
+import com.iam.domain.exceptions.ResourceNotFoundException;
+import com.iam.domain.exceptions.TooManyRequestsException;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * AuthenticationMetrics
+ * <p>
+ *     Meters of the authentication path:
+ *     <ul>
+ *         <li>{@code iam.auth.filter.stage}: time of each bearer filter stage (extraction, verification, revocation, user_load)</li>
+ *         <li>{@code iam.auth.filter.requests}: requests seen by the bearer filter, by outcome</li>
+ *         <li>{@code iam.commands}: time of the authentication commands (sign-in, sign-up, refresh, revoke), by outcome</li>
+ *     </ul>
+ *     Meters are registered once per tag combination and kept in maps, so recording does not go through the
+ *     registry on the request path.
+ * </p>
+ */
+@Component
+public class AuthenticationMetrics {
+    public static final String STAGE_EXTRACTION = "extraction";
+    public static final String STAGE_VERIFICATION = "verification";
+    public static final String STAGE_REVOCATION = "revocation";
+    public static final String STAGE_USER_LOAD = "user_load";
+
+    public static final String OUTCOME_VALID = "valid";
+    public static final String OUTCOME_PRESENT = "present";
+    public static final String OUTCOME_ABSENT = "absent";
+    public static final String OUTCOME_EXPIRED = "expired";
+    public static final String OUTCOME_REVOKED = "revoked";
+    public static final String OUTCOME_BAD_SIGNATURE = "bad_signature";
+    public static final String OUTCOME_MALFORMED = "malformed";
+    public static final String OUTCOME_CLAIMS = "claims";
+    public static final String OUTCOME_DATABASE = "database";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Map<String, Timer>> filterStages = new ConcurrentHashMap<>();
+    private final Map<String, Counter> filterOutcomes = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Timer>> commands = new ConcurrentHashMap<>();
+
+    public AuthenticationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void recordFilterStage(Timer.Sample sample, String stage, String outcome) {
+        sample.stop(filterStages
+                .computeIfAbsent(stage, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(outcome, key -> Timer.builder("iam.auth.filter.stage")
+                        .description("Time spent in each stage of the bearer filter")
+                        .tag("stage", stage)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)));
+    }
+
+    public void countFilterOutcome(String outcome) {
+        filterOutcomes.computeIfAbsent(outcome, key -> Counter.builder("iam.auth.filter.requests")
+                        .description("Requests processed by the bearer filter")
+                        .tag("outcome", outcome)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    public <T> T recordCommand(String command, Supplier<T> action) {
+        var sample = start();
+        var outcome = "success";
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            sample.stop(commandTimer(command, outcome));
+        }
+    }
+
+    public void recordCommand(String command, Runnable action) {
+        recordCommand(command, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Maps a token verification failure to its outcome tag.
+     */
+    public static String tokenOutcomeOf(Exception e) {
+        if (e instanceof ExpiredJwtException) return OUTCOME_EXPIRED;
+        if (e instanceof io.jsonwebtoken.security.SecurityException) return OUTCOME_BAD_SIGNATURE;
+        return OUTCOME_MALFORMED;
+    }
+
+    private Timer commandTimer(String command, String outcome) {
+        return commands
+                .computeIfAbsent(command, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(outcome, key -> Timer.builder("iam.commands")
+                        .description("Time spent handling authentication commands")
+                        .tag("command", command)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry));
+    }
+
+    private static String outcomeOf(RuntimeException e) {
+        if (e instanceof BadCredentialsException) return "bad_credentials";
+        if (e instanceof ResourceNotFoundException) return "not_found";
+        if (e instanceof TooManyRequestsException) return "rejected";
+        if (e instanceof IllegalStateException) return "conflict";
+        if (e instanceof JwtException || e instanceof IllegalArgumentException) return tokenOutcomeOf(e);
+        return "error";
+    }
+}
@@ -0,0 +1,91 @@
+package com.iam.infrastructure.persistence.configuration;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ConnectionPermitDataSource
+ * <p>
+ *     Admits at most as many callers as the pool has connections; the rest wait, in arrival order, on a fair
+ *     {@link Semaphore} that parks virtual threads without pinning their carrier, and give up with a
+ *     {@link SQLTransientConnectionException} after the pool's connection timeout. The permit is released when the
+ *     connection is closed (returned to the pool).
+ * </p>
+ */
+public class ConnectionPermitDataSource extends DelegatingDataSource {
+    private final Semaphore permits;
+    private final long timeoutMillis;
+
+    public ConnectionPermitDataSource(DataSource targetDataSource, int maxConnections, long timeoutMillis) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConnections, true);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int waitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS))
+                throw new SQLTransientConnectionException(
+                        "Connection is not available, request timed out after " + timeoutMillis + "ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection) {
+        var released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
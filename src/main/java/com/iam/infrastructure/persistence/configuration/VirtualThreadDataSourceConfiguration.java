@@ -0,0 +1,39 @@
+package com.iam.infrastructure.persistence.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Guard for {@code spring.threads.virtual.enabled=true} (Java 21). With virtual threads the number of concurrent
+ * requests is no longer capped by Tomcat's thread pool, so the Hikari pool is wrapped in a
+ * {@link ConnectionPermitDataSource} sized to {@code maximum-pool-size}: callers queue fairly in front of the pool
+ * instead of stampeding it. Waiting callers are published as {@code iam.datasource.permits.waiting}.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadDataSourceConfiguration {
+
+    @Bean
+    public static BeanPostProcessor connectionPermitDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) return bean;
+                var guarded = new ConnectionPermitDataSource(hikari, hikari.getMaximumPoolSize(),
+                        hikari.getConnectionTimeout());
+                meterRegistry.ifAvailable(registry -> Gauge.builder("iam.datasource.permits.waiting",
+                                guarded, ConnectionPermitDataSource::waitingThreads)
+                        .description("Threads waiting for a database connection permit")
+                        .register(registry));
+                return guarded;
+            }
+        };
+    }
+}
@@ -0,0 +1,9 @@
+package com.iam.infrastructure.persistence.jdbc;
+
+import java.util.List;
+
+/**
+ * A user to insert in bulk, with an already hashed password and resolved role ids.
+ */
+public record UserInsert(String username, String passwordHash, List<Long> roleIds) {
+}
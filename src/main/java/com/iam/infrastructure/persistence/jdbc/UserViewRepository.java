@@ -0,0 +1,111 @@
+package com.iam.infrastructure.persistence.jdbc;
+
+import com.iam.domain.model.readmodels.UserView;
+import com.iam.infrastructure.caching.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * UserViewRepository
+ * <p>
+ *     Read side of the users table. Every method is a single SQL statement that aggregates the role names with
+ *     {@code string_agg}, so reads skip entity hydration, dirty-checking snapshots and the EAGER {@code user_roles}
+ *     join of the {@code User} aggregate.
+ * </p>
+ */
+@Repository
+public class UserViewRepository {
+    // Subconsulta correlacionada en lugar de GROUP BY: el plan recorre la PK y emite filas sin ordenar todo antes
+    private static final String ROLES_COLUMN = """
+            (SELECT string_agg(r.name, ',' ORDER BY r.name)
+               FROM user_roles ur JOIN roles r ON r.id = ur.role_id
+              WHERE ur.user_id = u.id) AS roles
+            """;
+    private static final String SELECT_VIEW = "SELECT u.id, u.username, " + ROLES_COLUMN + " FROM users u ";
+    private static final String SELECT_PRINCIPAL = "SELECT u.id, u.username, u.password, " + ROLES_COLUMN + " FROM users u ";
+
+    private static final RowMapper<UserView> VIEW_MAPPER = (rs, rowNum) ->
+            new UserView(rs.getLong("id"), rs.getString("username"), rolesOf(rs));
+    private static final RowMapper<UserPrincipal> PRINCIPAL_MAPPER = (rs, rowNum) ->
+            new UserPrincipal(rs.getLong("id"), rs.getString("username"), rs.getString("password"), rolesOf(rs));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public UserViewRepository(DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${export.users.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public Optional<UserView> findById(Long id) {
+        return jdbcTemplate.query(SELECT_VIEW + "WHERE u.id = ?", VIEW_MAPPER, id).stream().findFirst();
+    }
+
+    public Optional<UserView> findByUsername(String username) {
+        return jdbcTemplate.query(SELECT_VIEW + "WHERE u.username = ?", VIEW_MAPPER, username).stream().findFirst();
+    }
+
+    /**
+     * Keyset page ordered by id: uses the primary key index instead of an OFFSET scan.
+     */
+    public List<UserView> findPageAfter(long after, int limit) {
+        return jdbcTemplate.query(SELECT_VIEW + "WHERE u.id > ? ORDER BY u.id LIMIT ?", VIEW_MAPPER, after, limit);
+    }
+
+    /**
+     * Resolves many users in one round-trip. The ids travel as a single array parameter ({@code = ANY(?)}), so
+     * the statement text and plan are the same whatever the number of ids, unlike an expanded {@code IN (?, ?, ...)}.
+     */
+    public List<UserView> findAllByIdIn(Collection<Long> ids) {
+        return jdbcTemplate.query(con -> {
+            var statement = con.prepareStatement(SELECT_VIEW + "WHERE u.id = ANY(?) ORDER BY u.id");
+            statement.setArray(1, con.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        }, VIEW_MAPPER);
+    }
+
+    public Optional<UserPrincipal> findPrincipalById(Long id) {
+        return jdbcTemplate.query(SELECT_PRINCIPAL + "WHERE u.id = ?", PRINCIPAL_MAPPER, id).stream().findFirst();
+    }
+
+    public Optional<UserPrincipal> findPrincipalByUsername(String username) {
+        return jdbcTemplate.query(SELECT_PRINCIPAL + "WHERE u.username = ?", PRINCIPAL_MAPPER, username)
+                .stream().findFirst();
+    }
+
+    /**
+     * Streams every user, in id order, to the given consumer as rows are fetched from a server-side cursor.
+     * PostgreSQL only honours the fetch size inside a transaction, hence the read-only transaction.
+     * @param consumer receives one view at a time; views are not retained
+     */
+    public void forEach(Consumer<UserView> consumer) {
+        RowCallbackHandler handler = rs -> consumer.accept(VIEW_MAPPER.mapRow(rs, rs.getRow()));
+        readOnlyTransaction.executeWithoutResult(status ->
+                streamingJdbcTemplate.query(SELECT_VIEW + "ORDER BY u.id", handler));
+    }
+
+    private static List<String> rolesOf(ResultSet rs) throws SQLException {
+        var roles = rs.getString("roles");
+        return roles == null ? List.of() : Arrays.asList(roles.split(","));
+    }
+}
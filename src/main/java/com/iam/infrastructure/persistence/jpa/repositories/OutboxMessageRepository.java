@@ -0,0 +1,37 @@
+package com.iam.infrastructure.persistence.jpa.repositories;
+
+import com.iam.domain.model.entities.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Locks the oldest messages of a topic that are not claimed by another relay and have not used up their
+     * attempts. Rows locked by another relay are skipped, so several instances can claim from the outbox
+     * concurrently without publishing the same message twice. Must run in a transaction.
+     */
+    @Query(value = "SELECT * FROM outbox_messages WHERE topic = :topic AND available_at <= :now " +
+            "AND attempts < :maxAttempts ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxMessage> lockNextBatch(@Param("topic") String topic, @Param("now") Instant now,
+                                      @Param("maxAttempts") int maxAttempts, @Param("limit") int limit);
+
+    @Modifying
+    @Query("update OutboxMessage m set m.availableAt = :until where m.id in :ids")
+    int claimUntil(@Param("ids") Collection<Long> ids, @Param("until") Instant until);
+
+    /**
+     * Counts a failed attempt and releases the claim, so the messages are retried on the next run.
+     */
+    @Modifying
+    @Query("update OutboxMessage m set m.attempts = m.attempts + 1, m.availableAt = :now where m.id in :ids")
+    int incrementAttempts(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+}
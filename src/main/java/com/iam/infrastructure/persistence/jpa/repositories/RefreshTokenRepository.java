@@ -0,0 +1,41 @@
+package com.iam.infrastructure.persistence.jpa.repositories;
+
+import com.iam.domain.model.entities.RefreshToken;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Loads the token locking its row, so two concurrent refreshes with the same token cannot both use it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from RefreshToken t where t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashForUpdate(@Param("tokenHash") String tokenHash);
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now where t.familyId = :familyId and t.revokedAt is null")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") Instant now);
+
+    /**
+     * Deletes at most {@code limit} refresh tokens that expired before {@code now}, in its own transaction.
+     * @return the number of deleted rows
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN " +
+            "(SELECT id FROM refresh_tokens WHERE expires_at < :now LIMIT :limit)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("limit") int limit);
+}
@@ -1,10 +1,42 @@
 package com.iam.infrastructure.persistence.jpa.repositories;
 
 import com.iam.domain.model.entities.RevokedToken;
+import com.iam.domain.model.readmodels.RevokedTokenEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
 
 @Repository
 public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
     boolean existsByJtiHash(String jtiHash);
+
+    /**
+     * Revocations that have not expired yet, as plain rows.
+     */
+    @Query("select new com.iam.domain.model.readmodels.RevokedTokenEntry(t.id, t.jtiHash, t.expiresAt) " +
+            "from RevokedToken t where t.expiresAt > :now")
+    List<RevokedTokenEntry> findActiveEntries(@Param("now") Instant now);
+
+    /**
+     * Revocations with an id above {@code id} that have not expired yet, as plain rows.
+     */
+    @Query("select new com.iam.domain.model.readmodels.RevokedTokenEntry(t.id, t.jtiHash, t.expiresAt) " +
+            "from RevokedToken t where t.id > :id and t.expiresAt > :now")
+    List<RevokedTokenEntry> findActiveEntriesAfter(@Param("id") Long id, @Param("now") Instant now);
+
+    /**
+     * Deletes at most {@code limit} revocations that expired before {@code now}, in its own transaction.
+     * @return the number of deleted rows
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM revoked_tokens WHERE id IN " +
+            "(SELECT id FROM revoked_tokens WHERE expires_at < :now LIMIT :limit)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("limit") int limit);
 }
@@ -0,0 +1,65 @@
+package com.iam.infrastructure.persistence.purge;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Instant;
+
+/**
+ * ExpiredRowsPurge
+ * <p>
+ *     Batched delete loop shared by the purgers of expired rows. Each batch deletes at most {@code batchSize} rows
+ *     in its own short transaction (the repository method provides it), and a run stops after {@code maxBatches}
+ *     batches to avoid long-running deletes. A run is timed as {@code <metricName>} and the deleted rows are
+ *     counted as {@code <metricName>.rows}.
+ * </p>
+ */
+public class ExpiredRowsPurge {
+
+    /**
+     * Deletes at most {@code limit} rows that expired before {@code now}.
+     */
+    @FunctionalInterface
+    public interface BatchDelete {
+        int deleteExpiredBatch(Instant now, int limit);
+    }
+
+    private final int batchSize;
+    private final int maxBatches;
+    private final Counter purgedRows;
+    private final Timer purgeTimer;
+
+    /**
+     * @param metricName name of the run timer, e.g. {@code iam.revocation.purge}
+     * @param rowsDescription what the rows are, for the meter descriptions, e.g. {@code expired revoked tokens}
+     */
+    public ExpiredRowsPurge(String metricName, String rowsDescription, MeterRegistry meterRegistry,
+                            int batchSize, int maxBatches) {
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.purgedRows = Counter.builder(metricName + ".rows")
+                .description("Deleted " + rowsDescription)
+                .register(meterRegistry);
+        this.purgeTimer = Timer.builder(metricName)
+                .description("Time spent purging " + rowsDescription)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the number of deleted rows
+     */
+    public int run(BatchDelete delete) {
+        return purgeTimer.record(() -> {
+            var now = Instant.now();
+            int deleted = 0;
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int rows = delete.deleteExpiredBatch(now, batchSize);
+                deleted += rows;
+                purgedRows.increment(rows);
+                if (rows < batchSize) break;
+            }
+            return deleted;
+        });
+    }
+}
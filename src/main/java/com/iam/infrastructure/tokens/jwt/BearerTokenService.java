@@ -1,10 +1,12 @@
 package com.iam.infrastructure.tokens.jwt;
 
+import com.iam.infrastructure.tokens.jwt.model.VerifiedToken;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.security.core.Authentication;
 import com.iam.application.internal.outboundservices.tokens.TokenService;
 
 import java.time.Instant;
+import java.util.Optional;
 
 public interface BearerTokenService  extends TokenService {
 
@@ -14,4 +16,21 @@ public interface BearerTokenService  extends TokenService {
     String getJti(String token);
     Instant getExpiration(String token);
 
+    /**
+     * Parses the token and checks its signature and expiration exactly once.
+     * @param token the compact JWS
+     * @return the verified claims
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     * @throws IllegalArgumentException if the token is empty
+     */
+    VerifiedToken verify(String token);
+
+    /**
+     * Returns the verified token of the current request, verifying the bearer token only if the
+     * request has not been verified yet.
+     * @param request the current request
+     * @return the verified token, or empty if the request carries no valid bearer token
+     */
+    Optional<VerifiedToken> getVerifiedTokenFrom(HttpServletRequest request);
+
 }
@@ -0,0 +1,9 @@
+package com.iam.infrastructure.tokens.jwt.keys;
+
+/**
+ * Serialized JWK Set with the public verification keys, built once per key rotation.
+ * @param json the UTF-8 JSON document; callers must not modify it
+ * @param eTag quoted strong entity tag derived from the content
+ */
+public record JsonWebKeySet(byte[] json, String eTag) {
+}
@@ -0,0 +1,113 @@
+package com.iam.infrastructure.tokens.jwt.keys;
+
+import org.springframework.core.env.Environment;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Signing configuration read from {@code authorization.jwt.*}. Asymmetric keys are PEM encoded: PKCS#8 for the
+ * private key and X.509 SubjectPublicKeyInfo for the public keys.
+ */
+public record JwtKeyMaterial(
+        JwtSigningAlgorithm algorithm,
+        String secret,
+        List<String> previousSecrets,
+        PrivateKey privateKey,
+        PublicKey publicKey,
+        List<PublicKey> previousPublicKeys
+) {
+    static final String PROPERTY_PREFIX = "authorization.jwt.";
+
+    public JwtKeyMaterial {
+        previousSecrets = previousSecrets == null ? List.of() : List.copyOf(previousSecrets);
+        previousPublicKeys = previousPublicKeys == null ? List.of() : List.copyOf(previousPublicKeys);
+    }
+
+    public static JwtKeyMaterial hmac(String secret, List<String> previousSecrets) {
+        return new JwtKeyMaterial(JwtSigningAlgorithm.HS384, secret, previousSecrets, null, null, List.of());
+    }
+
+    public static JwtKeyMaterial from(Environment environment) {
+        var algorithm = JwtSigningAlgorithm.of(environment.getProperty(PROPERTY_PREFIX + "algorithm", "HS384"));
+        var secret = environment.getProperty(PROPERTY_PREFIX + "secret");
+        var previousSecrets = listOf(environment, PROPERTY_PREFIX + "previous-secrets");
+        if (!algorithm.isAsymmetric()) return new JwtKeyMaterial(algorithm, secret, previousSecrets, null, null, List.of());
+
+        var privateKeyPem = environment.getProperty(PROPERTY_PREFIX + "private-key", "");
+        var publicKeyPem = environment.getProperty(PROPERTY_PREFIX + "public-key", "");
+        if (privateKeyPem.isBlank() != publicKeyPem.isBlank())
+            throw new IllegalArgumentException("'" + PROPERTY_PREFIX + "private-key' and '" + PROPERTY_PREFIX
+                    + "public-key' must be set together");
+
+        // Las llaves anteriores pueden ser de otro algoritmo asimétrico (p. ej. migrando de ES256 a EdDSA)
+        var previousPublicKeys = listOf(environment, PROPERTY_PREFIX + "previous-public-keys").stream()
+                .map(JwtKeyMaterial::anyPublicKeyOf)
+                .toList();
+        return new JwtKeyMaterial(
+                algorithm,
+                secret,
+                previousSecrets,
+                privateKeyPem.isBlank() ? null : privateKeyOf(algorithm, privateKeyPem),
+                publicKeyPem.isBlank() ? null : publicKeyOf(algorithm, publicKeyPem),
+                previousPublicKeys
+        );
+    }
+
+    public boolean hasKeyPair() {
+        return privateKey != null && publicKey != null;
+    }
+
+    // private methods
+
+    private static List<String> listOf(Environment environment, String property) {
+        return Arrays.stream(environment.getProperty(property, String[].class, new String[0]))
+                .filter(value -> value != null && !value.isBlank())
+                .toList();
+    }
+
+    private static PrivateKey privateKeyOf(JwtSigningAlgorithm algorithm, String pem) {
+        try {
+            return KeyFactory.getInstance(algorithm.keyFactoryAlgorithm())
+                    .generatePrivate(new PKCS8EncodedKeySpec(decodePem(pem)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid " + algorithm + " private key", e);
+        }
+    }
+
+    private static PublicKey publicKeyOf(JwtSigningAlgorithm algorithm, String pem) {
+        try {
+            return KeyFactory.getInstance(algorithm.keyFactoryAlgorithm())
+                    .generatePublic(new X509EncodedKeySpec(decodePem(pem)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid " + algorithm + " public key", e);
+        }
+    }
+
+    private static PublicKey anyPublicKeyOf(String pem) {
+        for (var algorithm : JwtSigningAlgorithm.values()) {
+            if (!algorithm.isAsymmetric()) continue;
+            try {
+                return publicKeyOf(algorithm, pem);
+            } catch (IllegalArgumentException ignored) {
+                // se prueba con el siguiente algoritmo
+            }
+        }
+        throw new IllegalArgumentException("Invalid previous public key: neither EC nor EdDSA");
+    }
+
+    // Acepta el PEM completo o solo el base64, con saltos de línea reales o escapados (variables de entorno)
+    private static byte[] decodePem(String pem) {
+        var base64 = pem.replace("\\n", "\n")
+                .replaceAll("-----[A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
@@ -0,0 +1,234 @@
+package com.iam.infrastructure.tokens.jwt.keys;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * JwtKeyRing
+ * <p>
+ *     Holds the keys used to sign and verify JSON Web Tokens together with a pre-built {@link JwtParser}.
+ *     Keys and parser are built once and published through an atomically swappable holder, so the hot path never
+ *     allocates keys or parsers. Every key is identified by a {@code kid}: derived from the secret for HMAC keys and
+ *     the RFC 7638 thumbprint for public keys. Tokens are signed with the active key and verified with the key
+ *     selected by their {@code kid} header.
+ * </p>
+ * <p>
+ *     {@code authorization.jwt.algorithm} selects HS384 (shared secret, the default), ES256 or EdDSA. With an
+ *     asymmetric algorithm the public keys are published as a pre-serialized JWK Set ({@link #jwks()}), so other
+ *     services verify tokens locally without the secret. When no key pair is configured an ephemeral one is
+ *     generated, which is only suitable for a single node in development.
+ * </p>
+ * <p>
+ *     Rotating the keys (through a configuration refresh or {@link #rotate}) keeps the previously active key as a
+ *     verification-only key, so tokens issued before the rotation stay valid. Secrets listed in
+ *     {@code authorization.jwt.previous-secrets} and keys in {@code authorization.jwt.previous-public-keys} are also
+ *     accepted for verification.
+ * </p>
+ */
+@Component
+public class JwtKeyRing {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private final Environment environment;
+    private final AtomicReference<KeySet> current = new AtomicReference<>();
+
+    public JwtKeyRing(Environment environment) {
+        this.environment = environment;
+        var material = JwtKeyMaterial.from(environment);
+        if (material.algorithm().isAsymmetric() && !material.hasKeyPair()) {
+            LOGGER.warn("No key pair configured for {}: using an ephemeral one, tokens will not survive a restart "
+                    + "nor verify on other nodes", material.algorithm());
+            var keyPair = material.algorithm().generateKeyPair();
+            material = new JwtKeyMaterial(material.algorithm(), material.secret(), material.previousSecrets(),
+                    keyPair.getPrivate(), keyPair.getPublic(), material.previousPublicKeys());
+        }
+        rotate(material);
+    }
+
+    public String activeKeyId() {
+        return current.get().activeKeyId();
+    }
+
+    public JwtSigningAlgorithm algorithm() {
+        return current.get().algorithm();
+    }
+
+    /**
+     * Sets the {@code kid} header and signs with the active key, both taken from the same key set so a concurrent
+     * rotation can never pair a kid with another key.
+     */
+    public JwtBuilder sign(JwtBuilder builder) {
+        var keys = current.get();
+        builder.header().keyId(keys.activeKeyId());
+        return keys.signer().apply(builder);
+    }
+
+    public JwtParser parser() {
+        return current.get().parser();
+    }
+
+    /**
+     * @return a number that changes on every rotation, so caches of verification results can tell they are stale
+     */
+    public long version() {
+        return current.get().version();
+    }
+
+    /**
+     * @return the public verification keys as a JWK Set; empty when only HMAC keys are in use
+     */
+    public JsonWebKeySet jwks() {
+        return current.get().jwks();
+    }
+
+    /**
+     * Makes the given key material the active signing key. The previously active key and the previous secrets and
+     * public keys of the material remain valid for verification.
+     * @param material the new signing configuration; asymmetric algorithms need a key pair
+     */
+    public synchronized void rotate(JwtKeyMaterial material) {
+        var algorithm = material.algorithm();
+        var keys = new LinkedHashMap<String, Key>();
+        String activeKeyId;
+        Function<JwtBuilder, JwtBuilder> signer;
+
+        if (algorithm.isAsymmetric()) {
+            if (!material.hasKeyPair()) throw new IllegalArgumentException(algorithm + " requires a key pair");
+            var privateKey = material.privateKey();
+            var signatureAlgorithm = algorithm == JwtSigningAlgorithm.ES256 ? Jwts.SIG.ES256 : Jwts.SIG.EdDSA;
+            activeKeyId = thumbprintOf(material.publicKey());
+            keys.put(activeKeyId, material.publicKey());
+            signer = builder -> builder.signWith(privateKey, signatureAlgorithm);
+        } else {
+            if (material.secret() == null || material.secret().isBlank())
+                throw new IllegalArgumentException("HS384 requires a secret");
+            var secretKey = hmacKeyOf(material.secret());
+            activeKeyId = keyIdOf(material.secret());
+            keys.put(activeKeyId, secretKey);
+            signer = builder -> builder.signWith(secretKey, Jwts.SIG.HS384);
+        }
+
+        var previous = current.get();
+        if (previous != null && !previous.activeKeyId().equals(activeKeyId))
+            keys.putIfAbsent(previous.activeKeyId(), previous.keys().get(previous.activeKeyId()));
+
+        material.previousSecrets().forEach(s -> keys.putIfAbsent(keyIdOf(s), hmacKeyOf(s)));
+        material.previousPublicKeys().forEach(k -> keys.putIfAbsent(thumbprintOf(k), k));
+
+        var version = previous == null ? 0 : previous.version() + 1;
+        current.set(KeySet.of(version, algorithm, activeKeyId, signer, keys));
+        LOGGER.info("JWT key ring loaded: {} with active kid '{}', {} verification key(s)",
+                algorithm, activeKeyId, keys.size());
+    }
+
+    @EventListener
+    public void on(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().noneMatch(key -> key.startsWith(JwtKeyMaterial.PROPERTY_PREFIX))) return;
+        try {
+            var material = JwtKeyMaterial.from(environment);
+            if (material.algorithm().isAsymmetric() && !material.hasKeyPair()) {
+                LOGGER.warn("Ignoring JWT key rotation: {} needs '{}private-key' and '{}public-key'",
+                        material.algorithm(), JwtKeyMaterial.PROPERTY_PREFIX, JwtKeyMaterial.PROPERTY_PREFIX);
+                return;
+            }
+            rotate(material);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Ignoring JWT key rotation: {}", e.getMessage());
+        }
+    }
+
+    // private methods
+
+    private static SecretKey hmacKeyOf(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String keyIdOf(String secret) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Arrays.copyOf(sha256(secret.getBytes(StandardCharsets.UTF_8)), 9));
+    }
+
+    private static String thumbprintOf(PublicKey publicKey) {
+        return Jwks.builder().key(publicKey).idFromThumbprint().build().getId();
+    }
+
+    private static byte[] sha256(byte[] value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record KeySet(long version,
+                          JwtSigningAlgorithm algorithm,
+                          String activeKeyId,
+                          Function<JwtBuilder, JwtBuilder> signer,
+                          Map<String, Key> keys,
+                          JwtParser parser,
+                          JsonWebKeySet jwks) {
+        static KeySet of(long version, JwtSigningAlgorithm algorithm, String activeKeyId,
+                         Function<JwtBuilder, JwtBuilder> signer, Map<String, Key> keys) {
+            var immutableKeys = Map.copyOf(keys);
+            var activeKey = immutableKeys.get(activeKeyId);
+            var parser = Jwts.parser()
+                    .keyLocator(new LocatorAdapter<Key>() {
+                        @Override
+                        protected Key locate(JwsHeader header) {
+                            // Tokens emitidos antes de usar kid se verifican con la llave activa
+                            var kid = header.getKeyId();
+                            if (kid == null) return activeKey;
+                            return immutableKeys.getOrDefault(kid, activeKey);
+                        }
+                    })
+                    .build();
+            return new KeySet(version, algorithm, activeKeyId, signer, immutableKeys, parser, jwksOf(keys));
+        }
+
+        // Se serializa una sola vez por rotación; el endpoint solo escribe estos bytes
+        private static JsonWebKeySet jwksOf(Map<String, Key> keys) {
+            var entries = new StringJoiner(",", "{\"keys\":[", "]}");
+            keys.forEach((kid, key) -> {
+                if (key instanceof PublicKey publicKey)
+                    entries.add(Jwks.json(Jwks.builder().key(publicKey)
+                            .id(kid)
+                            .algorithm(jwsAlgorithmOf(publicKey))
+                            .publicKeyUse("sig")
+                            .build()));
+            });
+            var json = entries.toString().getBytes(StandardCharsets.UTF_8);
+            var eTag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(sha256(json), 16)) + "\"";
+            return new JsonWebKeySet(json, eTag);
+        }
+
+        private static String jwsAlgorithmOf(PublicKey publicKey) {
+            return publicKey instanceof ECPublicKey ? JwtSigningAlgorithm.ES256.name() : JwtSigningAlgorithm.EdDSA.name();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.iam.infrastructure.tokens.jwt.keys;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+
+import java.security.KeyPair;
+
+/**
+ * Algorithms the key ring can sign with. {@code HS384} uses the shared secret; {@code ES256} (P-256) and
+ * {@code EdDSA} (Ed25519) use a key pair whose public half is published as a JWK Set.
+ */
+public enum JwtSigningAlgorithm {
+    HS384(null),
+    ES256("EC"),
+    EdDSA("EdDSA");
+
+    private final String keyFactoryAlgorithm;
+
+    JwtSigningAlgorithm(String keyFactoryAlgorithm) {
+        this.keyFactoryAlgorithm = keyFactoryAlgorithm;
+    }
+
+    public boolean isAsymmetric() {
+        return keyFactoryAlgorithm != null;
+    }
+
+    String keyFactoryAlgorithm() {
+        return keyFactoryAlgorithm;
+    }
+
+    KeyPair generateKeyPair() {
+        return switch (this) {
+            case ES256 -> Jwts.SIG.ES256.keyPair().build();
+            case EdDSA -> Jwks.CRV.Ed25519.keyPair().build();
+            case HS384 -> throw new IllegalStateException("HS384 has no key pair");
+        };
+    }
+
+    public static JwtSigningAlgorithm of(String name) {
+        for (var algorithm : values())
+            if (algorithm.name().equalsIgnoreCase(name.trim())) return algorithm;
+        throw new IllegalArgumentException("Unsupported JWT signing algorithm: " + name);
+    }
+}
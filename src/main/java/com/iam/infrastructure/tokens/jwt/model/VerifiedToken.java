@@ -0,0 +1,30 @@
+package com.iam.infrastructure.tokens.jwt.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * VerifiedToken
+ * <p>
+ *     Immutable view of the claims of a bearer token whose signature and expiration have already been checked.
+ *     It is produced once per request by the bearer filter and shared with the controllers through the
+ *     {@link #REQUEST_ATTRIBUTE} request attribute, so the token is never parsed twice.
+ * </p>
+ */
+public record VerifiedToken(
+        String jti,
+        String subject,
+        Long userId,
+        List<String> roles,
+        Instant expiresAt
+) {
+    public static final String REQUEST_ATTRIBUTE = VerifiedToken.class.getName();
+
+    public VerifiedToken {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    public boolean hasJti() {
+        return jti != null && !jti.isBlank();
+    }
+}
@@ -1,7 +1,8 @@
 package com.iam.infrastructure.tokens.jwt.services;
 
+import com.iam.infrastructure.caching.VerifiedTokenCache;
+import com.iam.infrastructure.tokens.jwt.keys.JwtKeyRing;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.commons.lang3.time.DateUtils;
@@ -12,13 +13,13 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import com.iam.infrastructure.tokens.jwt.BearerTokenService;
+import com.iam.infrastructure.tokens.jwt.model.VerifiedToken;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.function.Function;
 
 @Service
 public class TokenServiceImpl implements BearerTokenService {
@@ -27,11 +28,17 @@ public class TokenServiceImpl implements BearerTokenService {
     private static final String BEARER_TOKEN_PREFIX = "Bearer ";
     private static final int TOKEN_BEGIN_INDEX = 7;
 
-    @Value("${authorization.jwt.secret}")
-    private String secret;
+    private final JwtKeyRing keyRing;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final int expirationMinutes;
 
-    @Value("${authorization.jwt.expiration.days}")
-    private int expirationDays;
+    public TokenServiceImpl(JwtKeyRing keyRing,
+                            VerifiedTokenCache verifiedTokenCache,
+                            @Value("${authorization.jwt.expiration.minutes:15}") int expirationMinutes) {
+        this.keyRing = keyRing;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.expirationMinutes = expirationMinutes;
+    }
 
     @Override
     public String getBearerTokenFrom(HttpServletRequest request) {
@@ -61,12 +68,31 @@ public class TokenServiceImpl implements BearerTokenService {
 
     @Override
     public String getJti(String token) {
-        return extractAllClaims(token).getId();
+        return verify(token).jti();
     }
 
     @Override
     public Instant getExpiration(String token) {
-        return extractAllClaims(token).getExpiration().toInstant();
+        return verify(token).expiresAt();
+    }
+
+    @Override
+    public VerifiedToken verify(String token) {
+        // Un token repetido cuesta una búsqueda en el cache, no una verificación de firma
+        return verifiedTokenCache.get(token, keyRing.version(), t -> toVerifiedToken(extractAllClaims(t)));
+    }
+
+    @Override
+    public Optional<VerifiedToken> getVerifiedTokenFrom(HttpServletRequest request) {
+        if (request.getAttribute(VerifiedToken.REQUEST_ATTRIBUTE) instanceof VerifiedToken verifiedToken)
+            return Optional.of(verifiedToken);
+
+        String token = getBearerTokenFrom(request);
+        if (token == null) return Optional.empty();
+
+        var verifiedToken = tryVerify(token);
+        verifiedToken.ifPresent(v -> request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, v));
+        return verifiedToken;
     }
 
     // =========================
@@ -74,13 +100,12 @@ public class TokenServiceImpl implements BearerTokenService {
     // =========================
     private String buildToken(String username, Long userId, java.util.List<String> roles) {
         var issuedAt = new Date();
-        var expiration = DateUtils.addDays(issuedAt, expirationDays);
-        var key = getSigningKey();
+        var expiration = DateUtils.addMinutes(issuedAt, expirationMinutes);
 
+        // alg y kid los pone el key ring (HS384 por defecto, ES256/EdDSA publicados en el JWKS)
         var builder = Jwts.builder()
                 .header()
                 .add("typ", "JWT")
-                .add("alg", "HS384")   // 👈 match con Profiles
                 .and()
                 .id(UUID.randomUUID().toString())
                 .subject(username)
@@ -95,53 +120,60 @@ public class TokenServiceImpl implements BearerTokenService {
             builder.claim("roles", roles); // ["SELLER","BUYER",...]
         }
 
-        return builder
-                .signWith(key, Jwts.SIG.HS384)
-                .compact();
+        return keyRing.sign(builder).compact();
     }
 
     @Override
     public String getUsernameFromToken(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     @Override
     public boolean validateToken(String token) {
+        return tryVerify(token).isPresent();
+    }
+
+
+
+    // private methods
+
+    // El primer rechazo de cada token ya se registra en WARN al verificarlo (VerifiedTokenCache)
+    private Optional<VerifiedToken> tryVerify(String token) {
         try {
-            Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token);
-            LOGGER.info("JSON Web Token is valid");
-            return true;
+            var verifiedToken = verify(token);
+            LOGGER.debug("JSON Web Token is valid");
+            return Optional.of(verifiedToken);
         } catch (SignatureException e) {
-            LOGGER.error("Invalid JSON Web Token signature: {}", e.getMessage());
+            LOGGER.debug("Invalid JSON Web Token signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
-            LOGGER.error("Invalid JSON Web Token: {}", e.getMessage());
+            LOGGER.debug("Invalid JSON Web Token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
-            LOGGER.error("Expired JSON Web Token: {}", e.getMessage());
+            LOGGER.debug("Expired JSON Web Token: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
-            LOGGER.error("JSON Web Token is unsupported: {}", e.getMessage());
+            LOGGER.debug("JSON Web Token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
-            LOGGER.error("JSON Web Token claims string is empty: {}", e.getMessage());
+            LOGGER.debug("JSON Web Token claims string is empty: {}", e.getMessage());
         }
-        return false;
-    }
-
-
-
-    // private methods
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return Optional.empty();
     }
 
-
     private Claims extractAllClaims(String token) {
-        return Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token).getPayload();
-    }
-
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return keyRing.parser().parseSignedClaims(token).getPayload();
+    }
+
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        var userId = claims.get("user_id") instanceof Number number ? number.longValue() : null;
+        var roles = claims.get("roles") instanceof List<?> values
+                ? values.stream().map(String::valueOf).toList()
+                : List.<String>of();
+        var expiration = claims.getExpiration();
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                userId,
+                roles,
+                expiration != null ? expiration.toInstant() : null
+        );
     }
 
     private boolean isTokenPresentIn(String authorizationParameter) {
@@ -0,0 +1,22 @@
+package com.iam.infrastructure.tokens.refresh;
+
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Generates opaque refresh tokens: 256 random bits, base64url encoded without padding.
+ */
+@Component
+public class RefreshTokenGenerator {
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+
+    public String generate() {
+        var bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
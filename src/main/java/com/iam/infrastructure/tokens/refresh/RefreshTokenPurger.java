@@ -0,0 +1,40 @@
+package com.iam.infrastructure.tokens.refresh;
+
+import com.iam.infrastructure.persistence.jpa.repositories.RefreshTokenRepository;
+import com.iam.infrastructure.persistence.purge.ExpiredRowsPurge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * RefreshTokenPurger
+ * <p>
+ *     Deletes expired refresh tokens in bounded batches, tuned with {@code authorization.refresh-token.purge.*}.
+ * </p>
+ */
+@Component
+public class RefreshTokenPurger {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshTokenPurger.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final ExpiredRowsPurge purge;
+
+    public RefreshTokenPurger(RefreshTokenRepository refreshTokenRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${authorization.refresh-token.purge.batch-size:1000}") int batchSize,
+                              @Value("${authorization.refresh-token.purge.max-batches:100}") int maxBatches) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.purge = new ExpiredRowsPurge("iam.refresh-tokens.purge", "expired refresh tokens", meterRegistry,
+                batchSize, maxBatches);
+    }
+
+    @Scheduled(initialDelayString = "${authorization.refresh-token.purge.interval-ms:3600000}",
+            fixedDelayString = "${authorization.refresh-token.purge.interval-ms:3600000}")
+    public void purgeExpired() {
+        var total = purge.run(refreshTokenRepository::deleteExpiredBatch);
+        if (total > 0) LOGGER.info("Purged {} expired refresh token(s)", total);
+    }
+}
@@ -0,0 +1,71 @@
+package com.iam.infrastructure.tokens.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * BloomFilter
+ * <p>
+ *     Thread-safe bloom filter over SHA-256 hex digests. The digests are already uniformly distributed, so the bit
+ *     positions are derived directly from the first 32 hex characters (double hashing) without hashing again.
+ *     It never returns false negatives: if {@link #mightContain} is false the value was never added.
+ * </p>
+ */
+public final class BloomFilter {
+    private static final int MIN_HEX_LENGTH = 32;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    /**
+     * @param expectedInsertions number of values the filter is sized for
+     * @param falsePositiveProbability target false positive probability at {@code expectedInsertions}
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        var n = Math.max(1, expectedInsertions);
+        var m = (long) Math.ceil(-n * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        var words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) / 64));
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void put(String sha256Hex) {
+        var h1 = parseHex(sha256Hex, 0);
+        var h2 = parseHex(sha256Hex, 16);
+        for (int i = 0; i < hashFunctions; i++) {
+            var index = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            setBit(index);
+        }
+    }
+
+    public boolean mightContain(String sha256Hex) {
+        var h1 = parseHex(sha256Hex, 0);
+        var h2 = parseHex(sha256Hex, 16);
+        for (int i = 0; i < hashFunctions; i++) {
+            var index = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) return false;
+        }
+        return true;
+    }
+
+    private void setBit(long index) {
+        var word = (int) (index >>> 6);
+        var mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) return;
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    private static long parseHex(String hex, int offset) {
+        if (hex == null || hex.length() < MIN_HEX_LENGTH)
+            throw new IllegalArgumentException("Expected a SHA-256 hex digest");
+        long value = 0;
+        for (int i = offset; i < offset + 16; i++) {
+            value = (value << 4) | Character.digit(hex.charAt(i), 16);
+        }
+        return value;
+    }
+}
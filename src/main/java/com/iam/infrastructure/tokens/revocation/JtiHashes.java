@@ -0,0 +1,28 @@
+package com.iam.infrastructure.tokens.revocation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * JtiHashes
+ * <p>
+ *     Revocations never store the raw jti, only its SHA-256 hex digest.
+ * </p>
+ */
+public final class JtiHashes {
+
+    private JtiHashes() {
+    }
+
+    public static String sha256Hex(String jti) {
+        try {
+            var md = MessageDigest.getInstance("SHA-256");
+            var hash = md.digest(jti.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.iam.infrastructure.tokens.revocation;
+
+import com.iam.infrastructure.persistence.jpa.repositories.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RevokedTokenCache
+ * <p>
+ *     In-memory front for the {@code revoked_tokens} table. A bloom filter holding every known revoked jti hash
+ *     answers the common case (token not revoked) without touching the database; only bloom hits are confirmed
+ *     with {@link RevokedTokenRepository#existsByJtiHash}, and confirmed hits are remembered until they expire.
+ * </p>
+ * <p>
+ *     The filter is warmed from the table when the application is ready, updated when a token is revoked on this
+ *     node, synchronized incrementally with rows written by other nodes and periodically rebuilt, which also drops
+ *     the hashes of expired tokens. Until it is warmed every lookup goes to the database.
+ * </p>
+ */
+@Component
+public class RevokedTokenCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RevokedTokenCache.class);
+    private static final int MAX_CONFIRMED_ENTRIES = 10_000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final long syncOverlapIds;
+
+    private final Map<String, Instant> confirmed = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private volatile long lastSyncedId;
+
+    public RevokedTokenCache(RevokedTokenRepository revokedTokenRepository,
+                             @Value("${authorization.revocation.cache.expected-insertions:100000}") long expectedInsertions,
+                             @Value("${authorization.revocation.cache.false-positive-probability:0.001}") double falsePositiveProbability,
+                             @Value("${authorization.revocation.cache.sync-overlap-ids:1000}") long syncOverlapIds) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.syncOverlapIds = Math.max(0, syncOverlapIds);
+    }
+
+    /**
+     * Checks whether the token with the given jti hash has been revoked.
+     * @param jtiHash SHA-256 hex digest of the jti
+     * @param expiresAt expiration of the token, used to forget confirmed revocations once they expire
+     * @return true if the token is revoked
+     */
+    public boolean isRevoked(String jtiHash, Instant expiresAt) {
+        var filter = bloomFilter;
+        if (filter == null) return revokedTokenRepository.existsByJtiHash(jtiHash);
+        if (!filter.mightContain(jtiHash)) return false;
+
+        if (confirmed.containsKey(jtiHash)) return true;
+
+        var revoked = revokedTokenRepository.existsByJtiHash(jtiHash);
+        if (revoked && expiresAt != null && confirmed.size() < MAX_CONFIRMED_ENTRIES) confirmed.put(jtiHash, expiresAt);
+        return revoked;
+    }
+
+    /**
+     * Registers a revocation already committed to the database.
+     * @param jtiHash SHA-256 hex digest of the jti
+     * @param expiresAt expiration of the revoked token
+     */
+    public synchronized void add(String jtiHash, Instant expiresAt) {
+        var filter = bloomFilter;
+        if (filter != null) filter.put(jtiHash);
+        if (confirmed.size() < MAX_CONFIRMED_ENTRIES) confirmed.put(jtiHash, expiresAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    /**
+     * Reloads the filter from the revocations that have not expired yet.
+     */
+    @Scheduled(initialDelayString = "${authorization.revocation.cache.rebuild-interval-ms:600000}",
+            fixedDelayString = "${authorization.revocation.cache.rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        var now = Instant.now();
+        var active = revokedTokenRepository.findActiveEntries(now);
+        var filter = new BloomFilter(Math.max(expectedInsertions, active.size() * 2L), falsePositiveProbability);
+        long maxId = lastSyncedId;
+        for (var entry : active) {
+            filter.put(entry.jtiHash());
+            maxId = Math.max(maxId, entry.id());
+        }
+        confirmed.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        confirmed.keySet().forEach(filter::put);
+
+        bloomFilter = filter;
+        lastSyncedId = maxId;
+        LOGGER.info("Revoked token cache rebuilt with {} active revocation(s)", active.size());
+    }
+
+    /**
+     * Adds the revocations written by other nodes since the last synchronization. Identity ids are allocated before
+     * commit, so a row can become visible after a higher id was already synchronized: every run re-reads the last
+     * {@code sync-overlap-ids} ids below the watermark to pick up those late commits. Only the id, hash and
+     * expiration of rows that have not expired are read.
+     */
+    @Scheduled(fixedDelayString = "${authorization.revocation.cache.sync-interval-ms:5000}")
+    public synchronized void synchronize() {
+        var filter = bloomFilter;
+        if (filter == null) return;
+        long maxId = lastSyncedId;
+        long from = Math.max(0, lastSyncedId - syncOverlapIds);
+        for (var entry : revokedTokenRepository.findActiveEntriesAfter(from, Instant.now())) {
+            // Las filas de la ventana ya vistas no se vuelven a escribir en el filtro
+            if (!filter.mightContain(entry.jtiHash())) filter.put(entry.jtiHash());
+            maxId = Math.max(maxId, entry.id());
+        }
+        lastSyncedId = maxId;
+    }
+}
@@ -0,0 +1,42 @@
+package com.iam.infrastructure.tokens.revocation;
+
+import com.iam.infrastructure.persistence.jpa.repositories.RevokedTokenRepository;
+import com.iam.infrastructure.persistence.purge.ExpiredRowsPurge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * RevokedTokenPurger
+ * <p>
+ *     Deletes the revocations of tokens that have already expired, so {@code revoked_tokens} and its jti hash index
+ *     only hold live revocations. Rows are deleted in bounded batches, each in its own short transaction, and a
+ *     single run stops after {@code max-batches} batches to avoid long-running deletes.
+ * </p>
+ */
+@Component
+public class RevokedTokenPurger {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RevokedTokenPurger.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final ExpiredRowsPurge purge;
+
+    public RevokedTokenPurger(RevokedTokenRepository revokedTokenRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${authorization.revocation.purge.batch-size:1000}") int batchSize,
+                              @Value("${authorization.revocation.purge.max-batches:100}") int maxBatches) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.purge = new ExpiredRowsPurge("iam.revocation.purge", "expired revoked tokens", meterRegistry,
+                batchSize, maxBatches);
+    }
+
+    @Scheduled(initialDelayString = "${authorization.revocation.purge.interval-ms:3600000}",
+            fixedDelayString = "${authorization.revocation.purge.interval-ms:3600000}")
+    public void purgeExpired() {
+        var total = purge.run(revokedTokenRepository::deleteExpiredBatch);
+        if (total > 0) LOGGER.info("Purged {} expired revoked token(s)", total);
+    }
+}
@@ -6,13 +6,17 @@ import org.apache.logging.log4j.util.Strings;
 import org.springframework.stereotype.Service;
 import com.iam.domain.model.commands.SignUpCommand;
 import com.iam.domain.model.entities.Role;
-import com.iam.domain.model.queries.GetUserByIdQuery;
-import com.iam.domain.model.queries.GetUserByUsernameQuery;
+import com.iam.domain.model.queries.GetUsersByIdsQuery;
+import com.iam.domain.model.readmodels.UserView;
 import com.iam.domain.services.UserCommandService;
 import com.iam.domain.services.UserQueryService;
+import com.iam.infrastructure.caching.UserPrincipalCache;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * IamContextFacade
@@ -27,10 +31,13 @@ import java.util.List;
 public class IamContextFacade {
     private final UserCommandService userCommandService;
     private final UserQueryService userQueryService;
+    private final UserPrincipalCache userPrincipalCache;
 
-    public IamContextFacade(UserCommandService userCommandService, UserQueryService userQueryService) {
+    public IamContextFacade(UserCommandService userCommandService, UserQueryService userQueryService,
+                            UserPrincipalCache userPrincipalCache) {
         this.userCommandService = userCommandService;
         this.userQueryService = userQueryService;
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     /**
@@ -67,10 +74,9 @@ public class IamContextFacade {
      * @return The id of the user.
      */
     public Long fetchUserIdByUsername(String username) {
-        var getUserByUsernameQuery = new GetUserByUsernameQuery(username);
-        var result = userQueryService.handle(getUserByUsernameQuery);
+        var result = userPrincipalCache.findByUsername(username);
         if (result.isEmpty()) return 0L;
-        return result.get().getId();
+        return result.get().id();
     }
 
     /**
@@ -79,10 +85,20 @@ public class IamContextFacade {
      * @return The username of the user.
      */
     public String fetchUsernameByUserId(Long userId) {
-        var getUserByIdQuery = new GetUserByIdQuery(userId);
-        var result = userQueryService.handle(getUserByIdQuery);
+        var result = userPrincipalCache.findById(userId);
         if (result.isEmpty()) return Strings.EMPTY;
-        return result.get().getUsername();
+        return result.get().username();
+    }
+
+    /**
+     * Fetches the usernames of the users with the given ids with a single query.
+     * @param userIds The ids of the users, at most {@value GetUsersByIdsQuery#MAX_IDS}.
+     * @return The usernames by user id. Ids that do not match a user are not included.
+     */
+    public Map<Long, String> fetchUsernamesByUserIds(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) return Map.of();
+        var users = userQueryService.handle(new GetUsersByIdsQuery(new ArrayList<>(userIds)));
+        return users.stream().collect(Collectors.toUnmodifiableMap(UserView::id, UserView::username));
     }
 
 }
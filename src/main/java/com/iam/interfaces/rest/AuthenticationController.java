@@ -2,8 +2,11 @@ package com.iam.interfaces.rest;
 
 
 
+import com.iam.application.internal.commandservices.RefreshTokenCommandService;
 import com.iam.application.internal.commandservices.TokenRevocationCommandService;
+import com.iam.domain.model.commands.RevokeRefreshTokenCommand;
 import com.iam.domain.model.commands.RevokeTokenCommand;
+import com.iam.domain.model.entities.Role;
 import com.iam.infrastructure.tokens.jwt.BearerTokenService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 import com.iam.domain.model.commands.RefreshTokenCommand;
 import com.iam.domain.services.UserCommandService;
 import com.iam.interfaces.rest.resources.AuthenticatedUserResource;
+import com.iam.interfaces.rest.resources.RefreshTokenResource;
 import com.iam.interfaces.rest.resources.SignInResource;
 import com.iam.interfaces.rest.resources.SignUpResource;
 import com.iam.interfaces.rest.resources.UserResource;
@@ -31,6 +35,8 @@ import com.iam.interfaces.rest.transform.UserResourceFromEntityAssembler;
  *     <ul>
  *         <li>POST /api/v1/authentication/sign-in</li>
  *         <li>POST /api/v1/authentication/sign-up</li>
+ *         <li>POST /api/v1/authentication/refresh</li>
+ *         <li>POST /api/v1/authentication/logout</li>
  *     </ul>
  * </p>
  */
@@ -41,13 +47,15 @@ public class AuthenticationController {
     private final UserCommandService userCommandService;
     private final BearerTokenService bearerTokenService;
     private final TokenRevocationCommandService tokenRevocationCommandService;
+    private final RefreshTokenCommandService refreshTokenCommandService;
 
 
 
-    public AuthenticationController(UserCommandService userCommandService, BearerTokenService bearerTokenService, TokenRevocationCommandService tokenRevocationCommandService) {
+    public AuthenticationController(UserCommandService userCommandService, BearerTokenService bearerTokenService, TokenRevocationCommandService tokenRevocationCommandService, RefreshTokenCommandService refreshTokenCommandService) {
         this.userCommandService = userCommandService;
         this.bearerTokenService = bearerTokenService;
         this.tokenRevocationCommandService = tokenRevocationCommandService;
+        this.refreshTokenCommandService = refreshTokenCommandService;
     }
 
     /**
@@ -70,7 +78,7 @@ public class AuthenticationController {
 
 
     /**
-     * Handles the sign-up request.
+     * Handles the sign-up request. Only SELLER and BUYER can be requested; other roles get a 403.
      *
      * @param signUpResource the sign-up request body.
      * @return the created user resource.
@@ -78,6 +86,9 @@ public class AuthenticationController {
     @PostMapping("/sign-up")
     public ResponseEntity<UserResource> signUp(@RequestBody @Valid SignUpResource signUpResource) {
         var signUpCommand = SignUpCommandFromResourceAssembler.toCommandFromResource(signUpResource);
+        // Sign-up es público: solo roles de cliente, nadie se registra como ADMIN o SYSTEM
+        if (!signUpCommand.roles().stream().allMatch(Role::isSelfAssignable))
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         var user = userCommandService.handle(signUpCommand);
         if (user.isEmpty()) {
             return ResponseEntity.badRequest().build();
@@ -87,24 +98,20 @@ public class AuthenticationController {
 
     }
 
+    /** Devuelve los datos del access token vigente; ya no emite uno nuevo (eso es /refresh) */
     @PostMapping("/verify-token")
     public ResponseEntity<AuthenticatedUserResource> verifyTokenHeader(HttpServletRequest request) {
-        String token = bearerTokenService.getBearerTokenFrom(request);
-        if (token == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        var refreshed = userCommandService.handle(new RefreshTokenCommand(token));
-        if (refreshed.isEmpty()) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        var verifiedToken = bearerTokenService.getVerifiedTokenFrom(request);
+        if (verifiedToken.isEmpty()) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         var res = AuthenticatedUserResourceFromEntityAssembler
-                .toResourceFromEntity(refreshed.get().getLeft(), refreshed.get().getRight());
+                .toResourceFromVerifiedToken(verifiedToken.get(), bearerTokenService.getBearerTokenFrom(request));
         return ResponseEntity.ok(res);
     }
 
-    /** Refresh: usa el token actual si no está revocado y no expiró */
+    /** Refresh: canjea el refresh token (un solo uso) por un access token y un refresh token nuevos */
     @PostMapping("/refresh")
-    public ResponseEntity<AuthenticatedUserResource> refresh(HttpServletRequest request) {
-        String token = bearerTokenService.getBearerTokenFrom(request);
-        if (token == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-
-        var refreshed = userCommandService.handle(new RefreshTokenCommand(token));
+    public ResponseEntity<AuthenticatedUserResource> refresh(@RequestBody @Valid RefreshTokenResource body) {
+        var refreshed = userCommandService.handle(new RefreshTokenCommand(body.refreshToken()));
         if (refreshed.isEmpty()) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
 
         var res = AuthenticatedUserResourceFromEntityAssembler
@@ -112,13 +119,19 @@ public class AuthenticationController {
         return ResponseEntity.ok(res);
     }
 
-    /** Logout real: revoca el token vigente */
+    /**
+     * Logout real: revoca el access token vigente y, si viene en el cuerpo, la familia del refresh token.
+     * No exige un access token válido, para poder cerrar sesión cuando ya expiró.
+     */
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout(HttpServletRequest request) {
+    public ResponseEntity<Void> logout(HttpServletRequest request,
+                                       @RequestBody(required = false) @Valid RefreshTokenResource body) {
         String token = bearerTokenService.getBearerTokenFrom(request);
-        if (token == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        boolean hasAccessToken = token != null && bearerTokenService.getVerifiedTokenFrom(request).isPresent();
+        if (!hasAccessToken && body == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
 
-        tokenRevocationCommandService.handle(new RevokeTokenCommand(token));
+        if (hasAccessToken) tokenRevocationCommandService.handle(new RevokeTokenCommand(token));
+        if (body != null) refreshTokenCommandService.handle(new RevokeRefreshTokenCommand(body.refreshToken()));
         return ResponseEntity.noContent().build();
     }
 
@@ -0,0 +1,43 @@
+package com.iam.interfaces.rest;
+
+import com.iam.infrastructure.tokens.jwt.keys.JwtKeyRing;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * JwksController
+ * <p>
+ *     Publishes the public verification keys at GET /.well-known/jwks.json. The document is serialized by
+ *     {@link JwtKeyRing} once per rotation; requests only write those bytes, and an {@code If-None-Match} with the
+ *     current ETag is answered with 304.
+ * </p>
+ */
+@RestController
+@Tag(name = "Authentication", description = "Authentication Endpoints")
+public class JwksController {
+    private final JwtKeyRing keyRing;
+    private final CacheControl cacheControl;
+
+    public JwksController(JwtKeyRing keyRing,
+                          @Value("${authorization.jwt.jwks.max-age-seconds:300}") long maxAgeSeconds) {
+        this.keyRing = keyRing;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+    }
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> jwks() {
+        // Con el ETag en la respuesta, Spring contesta 304 sin cuerpo si coincide con If-None-Match
+        var jwks = keyRing.jwks();
+        return ResponseEntity.ok()
+                .eTag(jwks.eTag())
+                .cacheControl(cacheControl)
+                .body(jwks.json());
+    }
+}
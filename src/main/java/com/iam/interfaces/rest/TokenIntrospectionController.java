@@ -0,0 +1,66 @@
+package com.iam.interfaces.rest;
+
+import com.iam.application.internal.queryservices.TokenIntrospectionQueryService;
+import com.iam.domain.model.queries.IntrospectTokenQuery;
+import com.iam.interfaces.rest.resources.TokenIntrospectionResource;
+import com.iam.interfaces.rest.transform.TokenIntrospectionResourceFromVerifiedTokenAssembler;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * TokenIntrospectionController
+ * <p>
+ *     RFC 7662 style introspection for the gateway: POST /api/v1/authentication/introspect with the form
+ *     parameter {@code token}. Active responses may be cached until the token expires, capped by
+ *     {@code authorization.introspection.max-cache-seconds} so a revocation is seen within that time.
+ * </p>
+ * <p>
+ *     As RFC 7662 requires, the caller must authenticate: the gateway sends its own bearer token, from a service
+ *     account with the {@code SYSTEM} authority.
+ * </p>
+ */
+@RestController
+@RequestMapping(value = "/api/v1/authentication", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Authentication", description = "Authentication Endpoints")
+public class TokenIntrospectionController {
+    private final TokenIntrospectionQueryService tokenIntrospectionQueryService;
+    private final long maxCacheSeconds;
+
+    public TokenIntrospectionController(TokenIntrospectionQueryService tokenIntrospectionQueryService,
+                                        @Value("${authorization.introspection.max-cache-seconds:60}") long maxCacheSeconds) {
+        this.tokenIntrospectionQueryService = tokenIntrospectionQueryService;
+        this.maxCacheSeconds = maxCacheSeconds;
+    }
+
+    @PostMapping("/introspect")
+    @PreAuthorize("hasAuthority('SYSTEM')")
+    public ResponseEntity<TokenIntrospectionResource> introspect(@RequestParam("token") String token) {
+        var active = tokenIntrospectionQueryService.handle(new IntrospectTokenQuery(token));
+        if (active.isEmpty())
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(TokenIntrospectionResource.inactive());
+
+        var verifiedToken = active.get();
+        var res = TokenIntrospectionResourceFromVerifiedTokenAssembler.toResourceFromVerifiedToken(verifiedToken);
+        return ResponseEntity.ok().cacheControl(cacheControlFor(verifiedToken.expiresAt())).body(res);
+    }
+
+    // El cache nunca debe sobrevivir al token: max-age = min(vida restante, tope configurado)
+    private CacheControl cacheControlFor(Instant expiresAt) {
+        if (expiresAt == null || maxCacheSeconds <= 0) return CacheControl.noStore();
+        var remaining = Duration.between(Instant.now(), expiresAt).toSeconds();
+        var maxAge = Math.min(remaining, maxCacheSeconds);
+        if (maxAge <= 0) return CacheControl.noStore();
+        return CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePrivate();
+    }
+}
@@ -2,45 +2,131 @@ package com.iam.interfaces.rest;
 
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.iam.application.internal.commandservices.UserImportCommandService;
+import com.iam.domain.model.commands.ImportUsersCommand;
+import com.iam.infrastructure.persistence.jdbc.UserViewRepository;
+import com.iam.interfaces.rest.resources.UserImportReportResource;
+import com.iam.interfaces.rest.transform.UserImportReportResourceFromReadModelAssembler;
+import com.iam.interfaces.rest.transform.UserImportRowsFromStreamAssembler;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import com.iam.domain.model.queries.GetAllUsersQuery;
 import com.iam.domain.model.queries.GetUserByIdQuery;
+import com.iam.domain.model.queries.GetUsersByIdsQuery;
 import com.iam.domain.services.UserQueryService;
 import com.iam.interfaces.rest.resources.UserResource;
+import com.iam.interfaces.rest.resources.UsersBatchResource;
 import com.iam.interfaces.rest.transform.UserResourceFromEntityAssembler;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
  * This class is a REST controller that exposes the users resource.
  * It includes the following operations:
- * - GET /api/v1/users: returns all the users
+ * - GET /api/v1/users: returns a keyset page of users
+ * - GET /api/v1/users/export: streams all the users as NDJSON
  * - GET /api/v1/users/{userId}: returns the user with the given id
+ * - POST /api/v1/users/batch: returns the users with the given ids
+ * - POST /api/v1/users/import: creates the users of a CSV or NDJSON file
  **/
 @RestController
 @RequestMapping(value = "/api/v1/users", produces = MediaType.APPLICATION_JSON_VALUE)
 @Tag(name = "Users", description = "User Management Endpoints")
 public class UsersController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final String CSV_MEDIA_TYPE = "text/csv";
+
     private final UserQueryService userQueryService;
+    private final UserViewRepository userViewRepository;
+    private final UserImportCommandService userImportCommandService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter userResourceWriter;
+    private final long exportTimeoutMillis;
 
-    public UsersController(UserQueryService userQueryService) {
+    public UsersController(UserQueryService userQueryService, UserViewRepository userViewRepository,
+                           UserImportCommandService userImportCommandService, ObjectMapper objectMapper,
+                           @Value("${export.users.timeout-ms:1800000}") long exportTimeoutMillis) {
         this.userQueryService = userQueryService;
+        this.userViewRepository = userViewRepository;
+        this.userImportCommandService = userImportCommandService;
+        this.objectMapper = objectMapper;
+        // Sin AUTO_CLOSE_TARGET: cada línea se escribe sobre el mismo stream de la respuesta
+        this.userResourceWriter = objectMapper.writerFor(UserResource.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.exportTimeoutMillis = exportTimeoutMillis;
     }
 
+    /**
+     * This method returns a page of users ordered by id.
+     * When the page is full, the {@value #NEXT_CURSOR_HEADER} header carries the value to send as {@code after}
+     * to fetch the next page.
+     * @param after id of the last user already received, omitted for the first page
+     * @param limit page size, at most {@value GetAllUsersQuery#MAX_LIMIT}
+     * @return the user resources of the page
+     */
     @PreAuthorize("hasAuthority('ADMIN')")
     @GetMapping
-    public ResponseEntity<List<UserResource>> getAllUsers() {
-        var getAllUsersQuery = new GetAllUsersQuery();
+    public ResponseEntity<List<UserResource>> getAllUsers(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + GetAllUsersQuery.DEFAULT_LIMIT) int limit) {
+        var getAllUsersQuery = new GetAllUsersQuery(after, limit);
         var users = userQueryService.handle(getAllUsersQuery);
-        var userResources = users.stream().map(UserResourceFromEntityAssembler::toResourceFromEntity).toList();
-        return ResponseEntity.ok(userResources);
+        var userResources = users.stream().map(UserResourceFromEntityAssembler::toResourceFromView).toList();
+        var response = ResponseEntity.ok();
+        if (userResources.size() == getAllUsersQuery.limit()) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(userResources.get(userResources.size() - 1).id()));
+        }
+        return response.body(userResources);
+    }
+
+    /**
+     * This method streams every user as newline-delimited JSON, one {@link UserResource} per line.
+     * Rows are written as they are read from the database cursor, so memory use does not grow with the table.
+     * The export runs with its own {@code export.users.timeout-ms} instead of the global async request timeout.
+     * @param response the response the lines are written to
+     * @return the asynchronous export task
+     */
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    public WebAsyncTask<Void> exportUsers(HttpServletResponse response) {
+        return new WebAsyncTask<>(exportTimeoutMillis, () -> {
+            response.setContentType(NDJSON_MEDIA_TYPE);
+            var outputStream = response.getOutputStream();
+            userViewRepository.forEach(view -> {
+                try {
+                    userResourceWriter.writeValue(outputStream, UserResourceFromEntityAssembler.toResourceFromView(view));
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    // El cliente cerró la conexión: aborta el cursor
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outputStream.flush();
+            return null;
+        });
     }
 
     /**
@@ -58,7 +144,41 @@ public class UsersController {
         if (user.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        var userResource = UserResourceFromEntityAssembler.toResourceFromEntity(user.get());
+        var userResource = UserResourceFromEntityAssembler.toResourceFromView(user.get());
         return ResponseEntity.ok(userResource);
     }
+
+    /**
+     * This method returns the users with the given ids in a single query, ordered by id.
+     * Ids that do not match a user are left out of the response.
+     * @param resource the ids to resolve, at most {@value GetUsersByIdsQuery#MAX_IDS}
+     * @return the user resources found
+     */
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<UserResource>> getUsersByIds(@RequestBody @Valid UsersBatchResource resource) {
+        var getUsersByIdsQuery = new GetUsersByIdsQuery(resource.ids());
+        var users = userQueryService.handle(getUsersByIdsQuery);
+        var userResources = users.stream().map(UserResourceFromEntityAssembler::toResourceFromView).toList();
+        return ResponseEntity.ok(userResources);
+    }
+
+    /**
+     * This method creates the users of a CSV ({@code username,password,roles}, roles separated by {@code |}) or
+     * NDJSON ({@code {"username", "password", "roles"}} per line) file sent as the request body.
+     * The file is read as a stream and imported in batches; invalid rows are reported instead of failing the import.
+     * @param request the request whose body is the file
+     * @return the number of imported and failed users, the throughput and the failed rows
+     */
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PostMapping(value = "/import", consumes = {CSV_MEDIA_TYPE, NDJSON_MEDIA_TYPE})
+    public ResponseEntity<UserImportReportResource> importUsers(HttpServletRequest request) throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        var csv = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(CSV_MEDIA_TYPE));
+        var rows = csv
+                ? UserImportRowsFromStreamAssembler.toRowsFromCsv(reader)
+                : UserImportRowsFromStreamAssembler.toRowsFromNdjson(reader, objectMapper);
+        var report = userImportCommandService.handle(new ImportUsersCommand(rows));
+        return ResponseEntity.ok(UserImportReportResourceFromReadModelAssembler.toResourceFromReadModel(report));
+    }
 }
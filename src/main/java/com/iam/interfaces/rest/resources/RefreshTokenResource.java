@@ -0,0 +1,6 @@
+package com.iam.interfaces.rest.resources;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenResource(@NotBlank String refreshToken) {
+}
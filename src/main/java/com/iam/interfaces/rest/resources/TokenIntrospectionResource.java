@@ -0,0 +1,23 @@
+package com.iam.interfaces.rest.resources;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * RFC 7662 introspection response. An inactive token is answered only with {@code {"active": false}}.
+ * @param exp expiration in seconds since the epoch
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TokenIntrospectionResource(
+        boolean active,
+        String sub,
+        @JsonProperty("user_id") Long userId,
+        List<String> roles,
+        Long exp
+) {
+    public static TokenIntrospectionResource inactive() {
+        return new TokenIntrospectionResource(false, null, null, null, null);
+    }
+}
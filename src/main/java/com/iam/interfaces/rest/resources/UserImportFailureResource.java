@@ -0,0 +1,4 @@
+package com.iam.interfaces.rest.resources;
+
+public record UserImportFailureResource(long line, String username, String reason) {
+}
@@ -0,0 +1,9 @@
+package com.iam.interfaces.rest.resources;
+
+import java.util.List;
+
+public record UserImportReportResource(
+        long received, long imported, long failed, long elapsedMillis, double usersPerSecond,
+        List<UserImportFailureResource> failures
+) {
+}
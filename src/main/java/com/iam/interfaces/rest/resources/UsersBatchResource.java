@@ -0,0 +1,10 @@
+package com.iam.interfaces.rest.resources;
+
+import com.iam.domain.model.queries.GetUsersByIdsQuery;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record UsersBatchResource(@NotEmpty @Size(max = GetUsersByIdsQuery.MAX_IDS) List<Long> ids) {
+}
@@ -2,10 +2,19 @@ package com.iam.interfaces.rest.transform;
 
 
 import com.iam.domain.model.aggregates.User;
+import com.iam.domain.model.valueobjects.AuthenticationTokens;
+import com.iam.infrastructure.tokens.jwt.model.VerifiedToken;
 import com.iam.interfaces.rest.resources.AuthenticatedUserResource;
 
 public class AuthenticatedUserResourceFromEntityAssembler {
-    public static AuthenticatedUserResource toResourceFromEntity(User user, String token) {
-        return new AuthenticatedUserResource(user.getId(), user.getUsername(), user.getSerializedRoles(), token);
+    public static AuthenticatedUserResource toResourceFromEntity(User user, AuthenticationTokens tokens) {
+        return new AuthenticatedUserResource(user.getId(), user.getUsername(), user.getSerializedRoles(),
+                tokens.accessToken(), tokens.refreshToken());
+    }
+
+    /** Vista del token ya verificado, sin tocar la BD ni emitir tokens nuevos */
+    public static AuthenticatedUserResource toResourceFromVerifiedToken(VerifiedToken verifiedToken, String token) {
+        return new AuthenticatedUserResource(verifiedToken.userId(), verifiedToken.subject(), verifiedToken.roles(),
+                token, null);
     }
 }
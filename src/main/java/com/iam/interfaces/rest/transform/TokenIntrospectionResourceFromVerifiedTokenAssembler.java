@@ -0,0 +1,11 @@
+package com.iam.interfaces.rest.transform;
+
+import com.iam.infrastructure.tokens.jwt.model.VerifiedToken;
+import com.iam.interfaces.rest.resources.TokenIntrospectionResource;
+
+public class TokenIntrospectionResourceFromVerifiedTokenAssembler {
+    public static TokenIntrospectionResource toResourceFromVerifiedToken(VerifiedToken token) {
+        var exp = token.expiresAt() != null ? token.expiresAt().getEpochSecond() : null;
+        return new TokenIntrospectionResource(true, token.subject(), token.userId(), token.roles(), exp);
+    }
+}
@@ -0,0 +1,15 @@
+package com.iam.interfaces.rest.transform;
+
+import com.iam.domain.model.readmodels.UserImportReport;
+import com.iam.interfaces.rest.resources.UserImportFailureResource;
+import com.iam.interfaces.rest.resources.UserImportReportResource;
+
+public class UserImportReportResourceFromReadModelAssembler {
+    public static UserImportReportResource toResourceFromReadModel(UserImportReport report) {
+        var failures = report.failures().stream()
+                .map(failure -> new UserImportFailureResource(failure.line(), failure.username(), failure.reason()))
+                .toList();
+        return new UserImportReportResource(report.received(), report.imported(), report.failed(),
+                report.elapsedMillis(), report.usersPerSecond(), failures);
+    }
+}
@@ -0,0 +1,112 @@
+package com.iam.interfaces.rest.transform;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iam.domain.model.valueobjects.UserImportRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Parses bulk import files line by line, lazily.
+ * <ul>
+ *     <li>NDJSON: one {@code {"username": ..., "password": ..., "roles": [...]}} object per line.</li>
+ *     <li>CSV: {@code username,password,roles} with roles separated by {@code |}; fields may be double-quoted and an
+ *     optional header line is skipped.</li>
+ * </ul>
+ * Blank lines are ignored; lines that cannot be parsed become {@link UserImportRow#malformed} rows.
+ */
+public class UserImportRowsFromStreamAssembler {
+    private static final String ROLE_SEPARATOR = "\\|";
+
+    private record NdjsonLine(String username, String password, List<String> roles) {
+    }
+
+    private record NumberedLine(long number, String text) {
+    }
+
+    public static Stream<UserImportRow> toRowsFromNdjson(BufferedReader reader, ObjectMapper objectMapper) {
+        return numberedLines(reader).map(line -> {
+            try {
+                var parsed = objectMapper.readValue(line.text(), NdjsonLine.class);
+                return new UserImportRow(line.number(), parsed.username(), parsed.password(), parsed.roles());
+            } catch (JsonProcessingException e) {
+                return UserImportRow.malformed(line.number(), "Malformed JSON: " + e.getOriginalMessage());
+            }
+        });
+    }
+
+    public static Stream<UserImportRow> toRowsFromCsv(BufferedReader reader) {
+        return numberedLines(reader)
+                .filter(line -> !(line.number() == 1 && isHeader(line.text())))
+                .map(line -> toRowFromCsvLine(line.number(), line.text()));
+    }
+
+    private static Stream<NumberedLine> numberedLines(BufferedReader reader) {
+        var lineNumber = new AtomicLong();
+        return reader.lines()
+                .map(text -> new NumberedLine(lineNumber.incrementAndGet(), text))
+                .filter(line -> !line.text().isBlank())
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private static boolean isHeader(String line) {
+        return line.trim().toLowerCase().startsWith("username,");
+    }
+
+    private static UserImportRow toRowFromCsvLine(long line, String text) {
+        var fields = splitCsvLine(text);
+        if (fields == null) return UserImportRow.malformed(line, "Malformed CSV: unbalanced quotes");
+        if (fields.size() < 2 || fields.size() > 3)
+            return UserImportRow.malformed(line, "Malformed CSV: expected username,password[,roles]");
+        var roles = fields.size() == 3 && !fields.get(2).isBlank()
+                ? Arrays.stream(fields.get(2).split(ROLE_SEPARATOR)).map(String::trim).filter(r -> !r.isEmpty()).toList()
+                : List.<String>of();
+        return new UserImportRow(line, fields.get(0).trim(), fields.get(1), roles);
+    }
+
+    /**
+     * Splits a CSV line (RFC 4180 quoting, no embedded line breaks).
+     * @return the fields, or {@code null} when a quoted field is not closed
+     */
+    private static List<String> splitCsvLine(String text) {
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        var quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            var c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) return null;
+        fields.add(field.toString());
+        return fields;
+    }
+}
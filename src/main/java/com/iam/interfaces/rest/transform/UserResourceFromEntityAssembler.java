@@ -3,6 +3,7 @@ package com.iam.interfaces.rest.transform;
 
 import com.iam.domain.model.aggregates.User;
 import com.iam.domain.model.entities.Role;
+import com.iam.domain.model.readmodels.UserView;
 import com.iam.interfaces.rest.resources.UserResource;
 
 public class UserResourceFromEntityAssembler {
@@ -10,4 +11,8 @@ public class UserResourceFromEntityAssembler {
         var roles = user.getRoles().stream().map(Role::getStringName).toList();
         return new UserResource(user.getId(), user.getUsername(), roles);
     }
+
+    public static UserResource toResourceFromView(UserView view) {
+        return new UserResource(view.id(), view.username(), view.roles());
+    }
 }
@@ -0,0 +1,170 @@
+package com.iam.application.internal.commandservices;
+
+import com.iam.domain.model.commands.RevokeRefreshTokenCommand;
+import com.iam.domain.model.entities.RefreshToken;
+import com.iam.infrastructure.metrics.AuthenticationMetrics;
+import com.iam.infrastructure.persistence.jpa.repositories.RefreshTokenRepository;
+import com.iam.infrastructure.tokens.refresh.RefreshTokenGenerator;
+import com.iam.infrastructure.tokens.revocation.JtiHashes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the service behind its transactional proxy, with a mocked transaction manager, so the tests can check that
+ * a detected reuse commits the family revocation instead of rolling it back.
+ */
+@SpringJUnitConfig(RefreshTokenCommandServiceTests.TestConfiguration.class)
+class RefreshTokenCommandServiceTests {
+    private static final String RAW_TOKEN = "raw-refresh-token";
+    private static final String FAMILY_ID = "family-1";
+    private static final Long USER_ID = 7L;
+
+    @MockBean
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RefreshTokenCommandService refreshTokenCommandService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void rotateMarksTheTokenUsedAndIssuesItsSuccessor() {
+        var token = storedToken(Instant.now().plus(Duration.ofDays(1)));
+        when(refreshTokenRepository.findByTokenHashForUpdate(JtiHashes.sha256Hex(RAW_TOKEN)))
+                .thenReturn(Optional.of(token));
+
+        var rotated = refreshTokenCommandService.rotate(RAW_TOKEN);
+
+        assertTrue(rotated.isPresent());
+        assertEquals(USER_ID, rotated.get().getLeft());
+        assertNotEquals(RAW_TOKEN, rotated.get().getRight());
+        assertTrue(token.isUsed());
+
+        var successor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(successor.capture());
+        assertEquals(FAMILY_ID, successor.getValue().getFamilyId());
+        assertEquals(JtiHashes.sha256Hex(rotated.get().getRight()), successor.getValue().getTokenHash());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void reusedTokenRevokesItsFamilyAndCommits() {
+        var token = storedToken(Instant.now().plus(Duration.ofDays(1)));
+        token.markUsed(Instant.now().minus(Duration.ofMinutes(1)));
+        when(refreshTokenRepository.findByTokenHashForUpdate(anyString())).thenReturn(Optional.of(token));
+
+        var rotated = refreshTokenCommandService.rotate(RAW_TOKEN);
+
+        assertTrue(rotated.isEmpty());
+        verify(refreshTokenRepository).revokeFamily(eq(FAMILY_ID), any(Instant.class));
+        // La revocación no debe perderse en un rollback
+        verify(transactionManager).commit(any());
+        verify(transactionManager, never()).rollback(any());
+        verify(refreshTokenRepository, never()).save(any());
+        assertEquals(1.0, meterRegistry.counter("iam.refresh-tokens.reuse").count());
+    }
+
+    @Test
+    void concurrentReuseWithinTheGracePeriodKeepsTheFamily() {
+        var token = storedToken(Instant.now().plus(Duration.ofDays(1)));
+        token.markUsed(Instant.now());
+        when(refreshTokenRepository.findByTokenHashForUpdate(anyString())).thenReturn(Optional.of(token));
+
+        assertTrue(refreshTokenCommandService.rotate(RAW_TOKEN).isEmpty());
+
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        var token = storedToken(Instant.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHashForUpdate(anyString())).thenReturn(Optional.of(token));
+
+        assertTrue(refreshTokenCommandService.rotate(RAW_TOKEN).isEmpty());
+
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void revokedTokenIsRejected() {
+        var token = storedToken(Instant.now().plus(Duration.ofDays(1)));
+        ReflectionTestUtils.setField(token, "revokedAt", Instant.now());
+        when(refreshTokenRepository.findByTokenHashForUpdate(anyString())).thenReturn(Optional.of(token));
+
+        assertTrue(refreshTokenCommandService.rotate(RAW_TOKEN).isEmpty());
+
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        when(refreshTokenRepository.findByTokenHashForUpdate(anyString())).thenReturn(Optional.empty());
+
+        assertTrue(refreshTokenCommandService.rotate(RAW_TOKEN).isEmpty());
+    }
+
+    @Test
+    void revokeRevokesTheWholeFamily() {
+        var token = storedToken(Instant.now().plus(Duration.ofDays(1)));
+        when(refreshTokenRepository.findByTokenHash(JtiHashes.sha256Hex(RAW_TOKEN))).thenReturn(Optional.of(token));
+
+        refreshTokenCommandService.handle(new RevokeRefreshTokenCommand(RAW_TOKEN));
+
+        verify(refreshTokenRepository).revokeFamily(eq(FAMILY_ID), any(Instant.class));
+        verify(transactionManager).commit(any());
+    }
+
+    // private methods
+
+    private static RefreshToken storedToken(Instant expiresAt) {
+        return new RefreshToken(JtiHashes.sha256Hex(RAW_TOKEN), FAMILY_ID, USER_ID, expiresAt);
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import({RefreshTokenCommandService.class, RefreshTokenGenerator.class, AuthenticationMetrics.class})
+    static class TestConfiguration {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
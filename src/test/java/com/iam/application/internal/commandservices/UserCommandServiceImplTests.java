@@ -0,0 +1,98 @@
+package com.iam.application.internal.commandservices;
+
+import com.iam.application.internal.catalogs.RoleCatalog;
+import com.iam.application.internal.outboundservices.hashing.HashingService;
+import com.iam.application.internal.outboundservices.tokens.TokenService;
+import com.iam.domain.model.aggregates.User;
+import com.iam.domain.model.commands.SignUpCommand;
+import com.iam.domain.model.entities.Role;
+import com.iam.infrastructure.caching.UserPrincipalCache;
+import com.iam.infrastructure.messaging.outbox.UserEventsOutbox;
+import com.iam.infrastructure.metrics.AuthenticationMetrics;
+import com.iam.infrastructure.persistence.jpa.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserCommandServiceImplTests {
+    private static final SignUpCommand SIGN_UP = new SignUpCommand("alice", "secret", List.of());
+
+    private UserRepository userRepository;
+    private HashingService hashingService;
+    private UserCommandServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        hashingService = mock(HashingService.class);
+        var roleCatalog = mock(RoleCatalog.class);
+        when(roleCatalog.find(any())).thenReturn(Optional.of(Role.getDefaultRole()));
+        when(hashingService.encode(anyString())).thenReturn("hash");
+        service = new UserCommandServiceImpl(userRepository, hashingService, mock(TokenService.class), roleCatalog,
+                mock(UserEventsOutbox.class), new AuthenticationMetrics(new SimpleMeterRegistry()),
+                mock(UserPrincipalCache.class), mock(RefreshTokenCommandService.class));
+    }
+
+    @Test
+    void existingUsernameIsRejectedBeforeHashing() {
+        when(userRepository.existsByUsername("alice")).thenReturn(true);
+
+        var thrown = assertThrows(IllegalStateException.class, () -> service.handle(SIGN_UP));
+
+        assertEquals("Username already exists", thrown.getMessage());
+        verify(hashingService, never()).encode(anyString());
+    }
+
+    @Test
+    void concurrentDuplicateOnTheUsernameConstraintIsAConflict() {
+        when(userRepository.saveAndFlush(any())).thenThrow(violation(
+                ConstraintViolationException.ConstraintKind.UNIQUE, User.USERNAME_UNIQUE_CONSTRAINT, "duplicate key"));
+
+        var thrown = assertThrows(IllegalStateException.class, () -> service.handle(SIGN_UP));
+
+        assertEquals("Username already exists", thrown.getMessage());
+    }
+
+    @Test
+    void duplicateOnAnUnnamedLegacyUsernameConstraintIsAConflict() {
+        when(userRepository.saveAndFlush(any())).thenThrow(violation(
+                ConstraintViolationException.ConstraintKind.UNIQUE, "ukr43af9ap4edm43mmtq01oddj6",
+                "ERROR: duplicate key value violates unique constraint\n  Detail: Key (username)=(alice) already exists."));
+
+        assertThrows(IllegalStateException.class, () -> service.handle(SIGN_UP));
+    }
+
+    @Test
+    void otherIntegrityViolationsArePropagated() {
+        var foreignKey = violation(
+                ConstraintViolationException.ConstraintKind.OTHER, "fk_user_roles_role_id", "ERROR: insert or update on table \"user_roles\" violates foreign key constraint\n  Detail: Key (role_id)=(9) is not present in table \"roles\".");
+        when(userRepository.saveAndFlush(any())).thenThrow(foreignKey);
+
+        var thrown = assertThrows(DataIntegrityViolationException.class, () -> service.handle(SIGN_UP));
+
+        assertSame(foreignKey, thrown);
+    }
+
+    private static DataIntegrityViolationException violation(ConstraintViolationException.ConstraintKind kind,
+                                                             String constraintName, String sqlMessage) {
+        var cause = new ConstraintViolationException("could not execute statement",
+                new SQLException(sqlMessage), "insert into users", kind, constraintName);
+        return new DataIntegrityViolationException("could not execute statement", cause);
+    }
+}
@@ -0,0 +1,200 @@
+package com.iam.application.internal.commandservices;
+
+import com.iam.application.internal.catalogs.RoleCatalog;
+import com.iam.application.internal.outboundservices.hashing.HashingService;
+import com.iam.domain.model.commands.ImportUsersCommand;
+import com.iam.domain.model.entities.Role;
+import com.iam.domain.model.readmodels.UserImportFailure;
+import com.iam.domain.model.valueobjects.Roles;
+import com.iam.domain.model.valueobjects.UserImportRow;
+import com.iam.infrastructure.messaging.events.UserRegisteredEvent;
+import com.iam.infrastructure.messaging.outbox.UserEventsOutbox;
+import com.iam.infrastructure.metrics.AuthenticationMetrics;
+import com.iam.infrastructure.persistence.jdbc.UserBulkInsertRepository;
+import com.iam.infrastructure.persistence.jdbc.UserInsert;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserImportCommandServiceTests {
+    private static final int BATCH_SIZE = 2;
+
+    private UserBulkInsertRepository userBulkInsertRepository;
+    private HashingService hashingService;
+    private UserEventsOutbox userEventsOutbox;
+    private PlatformTransactionManager transactionManager;
+    private UserImportCommandService service;
+
+    // Usernames que la base ya tiene: insertAll los omite, como el INSERT ... ON CONFLICT DO NOTHING
+    private final Set<String> storedUsernames = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        userBulkInsertRepository = mock(UserBulkInsertRepository.class);
+        hashingService = mock(HashingService.class);
+        userEventsOutbox = mock(UserEventsOutbox.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        var roles = new EnumMap<Roles, Role>(Roles.class);
+        var roleCatalog = mock(RoleCatalog.class);
+        when(roleCatalog.find(any())).thenAnswer(invocation ->
+                Optional.of(roles.computeIfAbsent(invocation.getArgument(0), Role::new)));
+        when(userBulkInsertRepository.findExistingUsernames(any())).thenReturn(Set.of());
+        when(hashingService.encodeAll(anyList())).thenAnswer(invocation -> invocation.<List<String>>getArgument(0)
+                .stream().map(password -> "hash-" + password).toList());
+        when(userBulkInsertRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            var ids = new HashMap<String, Long>();
+            for (UserInsert insert : invocation.<List<UserInsert>>getArgument(0)) {
+                if (storedUsernames.add(insert.username())) ids.put(insert.username(), (long) storedUsernames.size());
+            }
+            return ids;
+        });
+
+        service = new UserImportCommandService(userBulkInsertRepository, hashingService, roleCatalog,
+                userEventsOutbox, transactionManager, new AuthenticationMetrics(new SimpleMeterRegistry()), BATCH_SIZE);
+    }
+
+    @Test
+    void rowsAreImportedInChunksOfTheBatchSize() {
+        var report = service.handle(command(row(1, "alice"), row(2, "bob"), row(3, "carol"), row(4, "dave"),
+                row(5, "erin")));
+
+        assertEquals(5, report.received());
+        assertEquals(5, report.imported());
+        assertEquals(0, report.failed());
+        var hashed = ArgumentCaptor.forClass(List.class);
+        verify(hashingService, times(3)).encodeAll(hashed.capture());
+        assertEquals(List.of(List.of("pw-alice", "pw-bob"), List.of("pw-carol", "pw-dave"), List.of("pw-erin")),
+                hashed.getAllValues());
+        verify(transactionManager, times(3)).commit(any());
+        verify(userEventsOutbox, times(3)).enqueueAll(anyList());
+    }
+
+    @Test
+    void insertsCarryTheHashAndTheResolvedRoles() {
+        service.handle(command(new UserImportRow(1, "alice", "secret", List.of("SELLER", " SELLER"))));
+
+        var inserts = insertsOfChunk();
+        assertEquals(1, inserts.size());
+        assertEquals("alice", inserts.get(0).username());
+        assertEquals("hash-secret", inserts.get(0).passwordHash());
+        assertEquals(1, inserts.get(0).roleIds().size());
+    }
+
+    @Test
+    void invalidRowsAreReportedWithoutHashing() {
+        var report = service.handle(command(
+                UserImportRow.malformed(1, "Malformed CSV: unbalanced quotes"),
+                new UserImportRow(2, " ", "secret", List.of()),
+                new UserImportRow(3, "x".repeat(51), "secret", List.of()),
+                new UserImportRow(4, "bob", "", List.of()),
+                new UserImportRow(5, "carol", "secret", List.of("ROOT")),
+                row(6, "dave")));
+
+        assertEquals(6, report.received());
+        assertEquals(1, report.imported());
+        assertEquals(List.of(
+                new UserImportFailure(1, null, "Malformed CSV: unbalanced quotes"),
+                new UserImportFailure(2, " ", "Username is required"),
+                new UserImportFailure(3, "x".repeat(51), "Username is longer than 50 characters"),
+                new UserImportFailure(4, "bob", "Password is required"),
+                new UserImportFailure(5, "carol", "Unknown role ROOT")
+        ), report.failures());
+        verify(hashingService).encodeAll(List.of("pw-dave"));
+    }
+
+    @Test
+    void duplicateUsernameInTheSameChunkIsRejectedBeforeHashing() {
+        var report = service.handle(command(row(1, "alice"), row(2, "alice")));
+
+        assertEquals(1, report.imported());
+        assertEquals(List.of(new UserImportFailure(2, "alice", "Duplicate username in file")), report.failures());
+        verify(hashingService).encodeAll(List.of("pw-alice"));
+    }
+
+    @Test
+    void registeredUsernamesAreRejectedBeforeHashing() {
+        when(userBulkInsertRepository.findExistingUsernames(any())).thenReturn(Set.of("bob"));
+
+        var report = service.handle(command(row(1, "alice"), row(2, "bob")));
+
+        assertEquals(1, report.imported());
+        assertEquals(List.of(new UserImportFailure(2, "bob", "Username already exists")), report.failures());
+        verify(hashingService).encodeAll(List.of("pw-alice"));
+    }
+
+    @Test
+    void duplicateAcrossChunksIsReportedFromTheConflictingInsert() {
+        // alice vuelve en el segundo chunk: no se detecta en memoria y el INSERT la omite por el conflicto
+        var report = service.handle(command(row(1, "alice"), row(2, "bob"), row(3, "alice"), row(4, "carol")));
+
+        assertEquals(4, report.received());
+        assertEquals(3, report.imported());
+        assertEquals(List.of(new UserImportFailure(3, "alice", "Username already exists")), report.failures());
+        var events = ArgumentCaptor.forClass(List.class);
+        verify(userEventsOutbox, times(2)).enqueueAll(events.capture());
+        assertEquals(List.of("carol"), events.getAllValues().get(1).stream()
+                .map(event -> ((UserRegisteredEvent) event).username()).toList());
+    }
+
+    @Test
+    void chunkWithoutValidRowsSkipsHashingAndTheTransaction() {
+        var report = service.handle(command(UserImportRow.malformed(1, "Malformed JSON: boom"),
+                new UserImportRow(2, "bob", null, List.of())));
+
+        assertEquals(2, report.failed());
+        assertEquals(0, report.imported());
+        verify(hashingService, never()).encodeAll(anyList());
+        verify(userBulkInsertRepository, never()).insertAll(anyList());
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void theRowsAreClosedAfterTheImport() {
+        var closed = new boolean[1];
+        var rows = Stream.of(row(1, "alice")).onClose(() -> closed[0] = true);
+
+        service.handle(new ImportUsersCommand(rows));
+
+        assertTrue(closed[0]);
+    }
+
+    // private methods
+
+    private static UserImportRow row(long line, String username) {
+        return new UserImportRow(line, username, "pw-" + username, List.of(Roles.BUYER.name()));
+    }
+
+    private static ImportUsersCommand command(UserImportRow... rows) {
+        return new ImportUsersCommand(Stream.of(rows));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<UserInsert> insertsOfChunk() {
+        var inserts = ArgumentCaptor.forClass(List.class);
+        verify(userBulkInsertRepository).insertAll(inserts.capture());
+        return inserts.getValue();
+    }
+}
@@ -0,0 +1,123 @@
+package com.iam.infrastructure.caching;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTests {
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<String, String> singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        var loads = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var callers = startCallers(() -> {
+            loads.incrementAndGet();
+            await(release);
+            return "value";
+        });
+
+        waitForCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (var caller : callers) assertEquals("value", caller.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void failureReachesEveryWaiter() throws Exception {
+        var failure = new IllegalStateException("boom");
+        var release = new CountDownLatch(1);
+        var callers = startCallers(() -> {
+            await(release);
+            throw failure;
+        });
+
+        waitForCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (var caller : callers) {
+            var thrown = assertThrows(ExecutionException.class, () -> caller.get(5, TimeUnit.SECONDS));
+            assertSame(failure, thrown.getCause());
+        }
+    }
+
+    @Test
+    void keyIsClearedOnceTheLoadCompletes() {
+        var loads = new AtomicInteger();
+
+        singleFlight.load("key", () -> "first-" + loads.incrementAndGet());
+        var second = singleFlight.load("key", () -> "second-" + loads.incrementAndGet());
+
+        assertEquals("second-2", second);
+        assertEquals(0.0, coalesced());
+    }
+
+    @Test
+    void keyIsClearedAfterAFailure() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.load("key", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals("recovered", singleFlight.load("key", () -> "recovered"));
+    }
+
+    private List<Future<String>> startCallers(Supplier<String> loader) {
+        var callers = new ArrayList<Future<String>>(CALLERS);
+        for (int i = 0; i < CALLERS; i++) callers.add(executor.submit(() -> singleFlight.load("key", loader)));
+        return callers;
+    }
+
+    // Todos los llamadores menos el primero quedan esperando la carga en curso
+    private void waitForCoalesced(int expected) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + 5_000;
+        while (coalesced() < expected && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        assertTrue(coalesced() >= expected, "callers did not coalesce");
+    }
+
+    private double coalesced() {
+        return meterRegistry.get("iam.singleflight.coalesced").counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
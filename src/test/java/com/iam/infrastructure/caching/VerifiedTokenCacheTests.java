@@ -0,0 +1,132 @@
+package com.iam.infrastructure.caching;
+
+import com.iam.infrastructure.metrics.AuthenticationMetrics;
+import com.iam.infrastructure.tokens.jwt.model.VerifiedToken;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VerifiedTokenCacheTests {
+    private static final String TOKEN = "header.payload.signature";
+    private static final long KEY_VERSION = 1;
+
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(new SimpleMeterRegistry(), 100, 300, 30);
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    void verifiedTokenIsServedFromTheCache() {
+        var claims = claims(Instant.now().plus(Duration.ofMinutes(10)));
+        var verifier = counting(token -> claims);
+
+        var first = cache.get(TOKEN, KEY_VERSION, verifier);
+        var second = cache.get(TOKEN, KEY_VERSION, verifier);
+
+        assertSame(claims, first);
+        assertSame(claims, second);
+        assertEquals(1, verifications.get());
+    }
+
+    @Test
+    void rejectedTokenThrowsAFreshExceptionWithoutStackTrace() {
+        var verifier = counting(token -> {
+            throw new MalformedJwtException("Invalid compact JWT string");
+        });
+
+        var original = assertThrows(MalformedJwtException.class, () -> cache.get(TOKEN, KEY_VERSION, verifier));
+        var cached = assertThrows(MalformedJwtException.class, () -> cache.get(TOKEN, KEY_VERSION, verifier));
+        var again = assertThrows(MalformedJwtException.class, () -> cache.get(TOKEN, KEY_VERSION, verifier));
+
+        assertEquals(1, verifications.get());
+        assertNotSame(original, cached);
+        assertNotSame(cached, again);
+        assertEquals(original.getMessage(), cached.getMessage());
+        assertEquals(0, cached.getStackTrace().length);
+    }
+
+    @Test
+    void cachedRejectionKeepsItsMetricsOutcome() {
+        var expired = counting(token -> {
+            throw new ExpiredJwtException(null, null, "JWT expired");
+        });
+        var badSignature = counting(token -> {
+            throw new SignatureException("JWT signature does not match");
+        });
+
+        assertThrows(ExpiredJwtException.class, () -> cache.get("expired", KEY_VERSION, expired));
+        var cachedExpired = assertThrows(ExpiredJwtException.class, () -> cache.get("expired", KEY_VERSION, expired));
+        assertThrows(SignatureException.class, () -> cache.get("forged", KEY_VERSION, badSignature));
+        var cachedForged = assertThrows(SignatureException.class, () -> cache.get("forged", KEY_VERSION, badSignature));
+
+        assertEquals(AuthenticationMetrics.OUTCOME_EXPIRED, AuthenticationMetrics.tokenOutcomeOf(cachedExpired));
+        assertEquals(AuthenticationMetrics.OUTCOME_BAD_SIGNATURE, AuthenticationMetrics.tokenOutcomeOf(cachedForged));
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void verifiedTokenIsNotCachedPastItsExpiration() throws InterruptedException {
+        var verifier = counting(token -> claims(Instant.now().plusSeconds(1)));
+
+        cache.get(TOKEN, KEY_VERSION, verifier);
+        cache.get(TOKEN, KEY_VERSION, verifier);
+        assertEquals(1, verifications.get());
+
+        // El tope es max-ttl (300 s), pero la entrada no sobrevive al exp del token
+        Thread.sleep(1_200);
+        cache.get(TOKEN, KEY_VERSION, verifier);
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void keyRotationClearsBothCaches() {
+        var claims = claims(Instant.now().plus(Duration.ofMinutes(10)));
+        var verifier = counting(token -> {
+            if (token.equals("forged")) throw new SignatureException("JWT signature does not match");
+            return claims;
+        });
+        cache.get(TOKEN, KEY_VERSION, verifier);
+        assertThrows(SignatureException.class, () -> cache.get("forged", KEY_VERSION, verifier));
+
+        cache.get(TOKEN, KEY_VERSION + 1, verifier);
+        assertThrows(SignatureException.class, () -> cache.get("forged", KEY_VERSION + 1, verifier));
+
+        assertEquals(4, verifications.get());
+    }
+
+    @Test
+    void disabledCacheAlwaysVerifies() {
+        var disabled = new VerifiedTokenCache(new SimpleMeterRegistry(), 0, 300, 30);
+        var claims = claims(Instant.now().plus(Duration.ofMinutes(10)));
+        var verifier = counting(token -> claims);
+
+        disabled.get(TOKEN, KEY_VERSION, verifier);
+        disabled.get(TOKEN, KEY_VERSION, verifier);
+
+        assertEquals(2, verifications.get());
+    }
+
+    // private methods
+
+    private Function<String, VerifiedToken> counting(Function<String, VerifiedToken> verifier) {
+        return token -> {
+            verifications.incrementAndGet();
+            return verifier.apply(token);
+        };
+    }
+
+    private static VerifiedToken claims(Instant expiresAt) {
+        return new VerifiedToken("jti-1", "alice", 7L, List.of("BUYER"), expiresAt);
+    }
+}
@@ -0,0 +1,117 @@
+package com.iam.infrastructure.hashing.bcrypt.services;
+
+import com.iam.domain.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HashingServiceImplTests {
+    private static final int POOL_SIZE = 2;
+
+    private HashingServiceImpl hashingService;
+    private ThreadPoolExecutor executor;
+    private Semaphore gate;
+
+    @BeforeEach
+    void setUp() {
+        hashingService = new HashingServiceImpl(new SimpleMeterRegistry(), HashingServiceImpl.BCRYPT, 4,
+                19456, 2, 1, POOL_SIZE, 64, 2000);
+        executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(hashingService, "executor");
+        gate = new Semaphore(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gate.release(POOL_SIZE * 4);
+        hashingService.shutdown();
+    }
+
+    @Test
+    void encodeAllHashesEveryPassword() {
+        var hashes = hashingService.encodeAll(List.of("first", "second", "third"));
+
+        assertEquals(3, hashes.size());
+        assertTrue(hashingService.matches("second", hashes.get(1)));
+    }
+
+    @Test
+    void failedEncodeAllReleasesPermitsOfCancelledTasks() throws Exception {
+        // Ocupamos todos los hilos del pool, como haría el tráfico interactivo
+        for (int i = 0; i < POOL_SIZE; i++) executor.execute(this::blockOnGate);
+
+        var failed = CompletableFuture.runAsync(() -> hashingService.encodeAll(Arrays.asList(null, "second")));
+        awaitQueueSize(1);
+        // Detrás del hash que falla encolamos otro bloqueo, así el segundo hash queda en cola al cancelarse
+        executor.execute(this::blockOnGate);
+        gate.release();
+
+        var exception = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+
+        gate.release(POOL_SIZE * 4);
+        var hashes = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> hashingService.encodeAll(List.of("third", "fourth", "fifth")));
+        assertEquals(3, hashes.size());
+    }
+
+    @Test
+    void timedOutHashIsInterrupted() throws Exception {
+        var service = new HashingServiceImpl(new SimpleMeterRegistry(), HashingServiceImpl.BCRYPT, 4,
+                19456, 2, 1, 1, 1, 50);
+        var interrupted = new CountDownLatch(1);
+        var encoder = mock(DelegatingPasswordEncoder.class);
+        when(encoder.encode(any())).thenAnswer(invocation -> {
+            try {
+                gate.acquire();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "hash";
+        });
+        ReflectionTestUtils.setField(service, "passwordEncoder", encoder);
+        try {
+            assertThrows(TooManyRequestsException.class, () -> service.encode("secret"));
+            // El hilo de hashing queda libre en lugar de seguir con un hash que nadie espera
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    // private methods
+
+    private void blockOnGate() {
+        gate.acquireUninterruptibly();
+    }
+
+    private void awaitQueueSize(int size) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getQueue().size() < size) {
+            if (System.nanoTime() > deadline) throw new AssertionError("Hashing queue never reached " + size);
+            Thread.sleep(5);
+        }
+    }
+}
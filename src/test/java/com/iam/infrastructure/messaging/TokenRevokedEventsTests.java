@@ -0,0 +1,76 @@
+package com.iam.infrastructure.messaging;
+
+import com.iam.infrastructure.messaging.configuration.TokenEventsKafkaConfiguration;
+import com.iam.infrastructure.messaging.events.TokenRevokedEvent;
+import com.iam.infrastructure.persistence.jpa.repositories.RevokedTokenRepository;
+import com.iam.infrastructure.tokens.revocation.RevokedTokenCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(
+        classes = {
+                KafkaAutoConfiguration.class,
+                TokenEventsKafkaConfiguration.class,
+                TokenEventsProducer.class,
+                TokenEventsConsumer.class,
+                RevokedTokenCache.class
+        },
+        properties = {
+                "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+                "messaging.token-revoked.partitions=2"
+        }
+)
+@EmbeddedKafka(topics = TokenEventsProducer.TOKEN_REVOKED_TOPIC, partitions = 2)
+class TokenRevokedEventsTests {
+
+    private static final String JTI_HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @Autowired
+    private TokenEventsProducer tokenEventsProducer;
+
+    @Autowired
+    private RevokedTokenCache revokedTokenCache;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry registry;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @MockBean
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Test
+    void revocationPublishedByAnyNodeReachesTheLocalCache() throws InterruptedException {
+        ContainerTestUtils.waitForAssignment(registry.getListenerContainer("tokenRevokedListener"),
+                embeddedKafka.getPartitionsPerTopic());
+
+        var expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        tokenEventsProducer.publishTokenRevoked(new TokenRevokedEvent(JTI_HASH, expiresAt));
+
+        var deadline = System.currentTimeMillis() + 10_000;
+        var revoked = false;
+        while (!revoked && System.currentTimeMillis() < deadline) {
+            revoked = revokedTokenCache.isRevoked(JTI_HASH, expiresAt);
+            if (!revoked) Thread.sleep(50);
+        }
+
+        assertTrue(revoked);
+        verify(revokedTokenRepository, never()).existsByJtiHash(anyString());
+    }
+}
@@ -0,0 +1,112 @@
+package com.iam.infrastructure.messaging.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iam.domain.model.entities.OutboxMessage;
+import com.iam.infrastructure.messaging.UserEventsProducer;
+import com.iam.infrastructure.messaging.events.UserRegisteredEvent;
+import com.iam.infrastructure.persistence.jpa.repositories.OutboxMessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserEventsOutboxRelayTests {
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private OutboxMessageRepository outboxMessageRepository;
+    private UserEventsProducer userEventsProducer;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private UserEventsOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        outboxMessageRepository = mock(OutboxMessageRepository.class);
+        userEventsProducer = mock(UserEventsProducer.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new UserEventsOutboxRelay(outboxMessageRepository, userEventsProducer, objectMapper,
+                transactionManager, meterRegistry, 10, 5, 1000, MAX_ATTEMPTS);
+    }
+
+    @Test
+    void failedSendIsRetriedLaterAndAcknowledgedSendIsDeleted() throws Exception {
+        var delivered = message(1L, "alice", 0);
+        var undelivered = message(2L, "bob", 0);
+        when(outboxMessageRepository.lockNextBatch(eq(UserEventsProducer.USER_REGISTERED_TOPIC), any(Instant.class),
+                eq(MAX_ATTEMPTS), anyInt())).thenReturn(List.of(delivered, undelivered));
+        when(userEventsProducer.publishUserRegistered(argThat(event -> event != null && event.username().equals("alice"))))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(userEventsProducer.publishUserRegistered(argThat(event -> event != null && event.username().equals("bob"))))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker down")));
+
+        relay.relay();
+
+        // El claim se confirma antes de enviar: ninguna transacción queda abierta durante el envío
+        var order = inOrder(outboxMessageRepository, transactionManager, userEventsProducer);
+        order.verify(outboxMessageRepository).claimUntil(eq(List.of(1L, 2L)), any(Instant.class));
+        order.verify(transactionManager).commit(any());
+        order.verify(userEventsProducer, times(2)).publishUserRegistered(any(UserRegisteredEvent.class));
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(outboxMessageRepository).deleteAllByIdInBatch(List.of(1L));
+        order.verify(outboxMessageRepository).incrementAttempts(eq(List.of(2L)), any(Instant.class));
+        order.verify(transactionManager).commit(any());
+
+        assertEquals(1.0, meterRegistry.counter("iam.outbox.relayed", "topic", "user-registered").count());
+        assertEquals(1.0, meterRegistry.counter("iam.outbox.failed", "topic", "user-registered").count());
+        assertEquals(0.0, meterRegistry.counter("iam.outbox.parked", "topic", "user-registered").count());
+    }
+
+    @Test
+    void messageIsParkedAfterItsLastAttempt() throws Exception {
+        var exhausted = message(7L, "carol", MAX_ATTEMPTS - 1);
+        when(outboxMessageRepository.lockNextBatch(any(), any(), anyInt(), anyInt())).thenReturn(List.of(exhausted));
+        when(userEventsProducer.publishUserRegistered(any()))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker down")));
+
+        relay.relay();
+
+        verify(outboxMessageRepository).incrementAttempts(eq(List.of(7L)), any(Instant.class));
+        verify(outboxMessageRepository, never()).deleteAllByIdInBatch(any());
+        assertEquals(1.0, meterRegistry.counter("iam.outbox.parked", "topic", "user-registered").count());
+    }
+
+    @Test
+    void emptyOutboxSendsNothing() {
+        when(outboxMessageRepository.lockNextBatch(any(), any(), anyInt(), anyInt())).thenReturn(List.of());
+
+        relay.relay();
+
+        verify(outboxMessageRepository, never()).claimUntil(any(), any());
+        verify(userEventsProducer, never()).publishUserRegistered(any());
+    }
+
+    // private methods
+
+    private OutboxMessage message(Long id, String username, int attempts) throws Exception {
+        var payload = objectMapper.writeValueAsString(new UserRegisteredEvent(id, username, List.of("ROLE_USER")));
+        var message = new OutboxMessage(UserEventsProducer.USER_REGISTERED_TOPIC, id.toString(), payload);
+        ReflectionTestUtils.setField(message, "id", id);
+        ReflectionTestUtils.setField(message, "attempts", attempts);
+        return message;
+    }
+}
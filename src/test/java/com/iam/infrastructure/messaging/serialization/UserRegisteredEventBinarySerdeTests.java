@@ -0,0 +1,77 @@
+package com.iam.infrastructure.messaging.serialization;
+
+import com.iam.infrastructure.messaging.events.UserRegisteredEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UserRegisteredEventBinarySerdeTests {
+    private static final String TOPIC = "user-registered";
+
+    private final UserRegisteredEventBinarySerde serde = new UserRegisteredEventBinarySerde();
+
+    @Test
+    void roundTripKeepsEveryField() {
+        var event = new UserRegisteredEvent(42L, "josé", List.of("ROLE_USER", "ROLE_ADMIN"));
+
+        var deserialized = serde.deserialize(TOPIC, serde.serialize(TOPIC, event));
+
+        assertEquals(event, deserialized);
+    }
+
+    @Test
+    void roundTripAcceptsTheMaximumRoleCount() {
+        var roles = Collections.nCopies(UserRegisteredEventBinarySerde.MAX_ROLES, "ROLE_USER");
+        var event = new UserRegisteredEvent(1L, "alice", roles);
+
+        assertEquals(event, serde.deserialize(TOPIC, serde.serialize(TOPIC, event)));
+    }
+
+    @Test
+    void tooManyRolesAreRejected() {
+        var roles = Collections.nCopies(UserRegisteredEventBinarySerde.MAX_ROLES + 1, "ROLE_USER");
+        var event = new UserRegisteredEvent(1L, "alice", roles);
+
+        assertThrows(SerializationException.class, () -> serde.serialize(TOPIC, event));
+    }
+
+    @Test
+    void serializeWithHeadersAddsContentType() {
+        var headers = new RecordHeaders();
+
+        serde.serialize(TOPIC, headers, new UserRegisteredEvent(1L, "alice", List.of("ROLE_USER")));
+
+        var contentType = headers.lastHeader(UserRegisteredEventBinarySerde.CONTENT_TYPE_HEADER);
+        assertNotNull(contentType);
+        assertArrayEquals(UserRegisteredEventBinarySerde.CONTENT_TYPE.getBytes(StandardCharsets.UTF_8),
+                contentType.value());
+    }
+
+    @Test
+    void nullEventHasNoPayloadNorContentType() {
+        var headers = new RecordHeaders();
+
+        assertNull(serde.serialize(TOPIC, headers, null));
+        assertNull(headers.lastHeader(UserRegisteredEventBinarySerde.CONTENT_TYPE_HEADER));
+        assertNull(serde.deserialize(TOPIC, null));
+    }
+
+    @Test
+    void unknownVersionIsRejected() {
+        var bytes = serde.serialize(TOPIC, new UserRegisteredEvent(1L, "alice", List.of("ROLE_USER")));
+        bytes[0] = 2;
+
+        var exception = assertThrows(SerializationException.class, () -> serde.deserialize(TOPIC, bytes));
+        assertEquals("Unsupported UserRegisteredEvent version 2", exception.getMessage());
+    }
+}
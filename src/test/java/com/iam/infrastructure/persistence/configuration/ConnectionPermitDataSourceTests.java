@@ -0,0 +1,103 @@
+package com.iam.infrastructure.persistence.configuration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConnectionPermitDataSourceTests {
+    private static final long TIMEOUT_MILLIS = 50;
+
+    private DataSource target;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void callersBeyondTheConnectionCountTimeOut() throws SQLException {
+        var dataSource = new ConnectionPermitDataSource(target, 2, TIMEOUT_MILLIS);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        var startedAt = System.nanoTime();
+        var exception = assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        assertTrue(System.nanoTime() - startedAt >= TIMEOUT_MILLIS * 1_000_000);
+        assertTrue(exception.getMessage().contains(TIMEOUT_MILLIS + "ms"));
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    void closingTheConnectionReleasesItsPermit() throws SQLException {
+        var dataSource = new ConnectionPermitDataSource(target, 1, TIMEOUT_MILLIS);
+
+        dataSource.getConnection().close();
+
+        assertNotNull(dataSource.getConnection());
+        verify(connection).close();
+    }
+
+    @Test
+    void closingTwiceReleasesOnePermit() throws SQLException {
+        var dataSource = new ConnectionPermitDataSource(target, 1, TIMEOUT_MILLIS);
+        var first = dataSource.getConnection();
+
+        first.close();
+        first.close();
+
+        // Con un permiso de más la segunda petición no esperaría
+        dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+    }
+
+    @Test
+    void failedAcquisitionReleasesItsPermit() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted")).thenReturn(connection);
+        var dataSource = new ConnectionPermitDataSource(target, 1, TIMEOUT_MILLIS);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertNotNull(dataSource.getConnection());
+    }
+
+    @Test
+    void otherCallsAreDelegated() throws SQLException {
+        var dataSource = new ConnectionPermitDataSource(target, 1, TIMEOUT_MILLIS);
+        when(connection.getAutoCommit()).thenReturn(true);
+
+        var proxy = dataSource.getConnection();
+
+        assertTrue(proxy.getAutoCommit());
+        verify(connection).getAutoCommit();
+    }
+
+    @Test
+    void interruptedWaitFailsAndKeepsTheInterruptFlag() throws SQLException {
+        var dataSource = new ConnectionPermitDataSource(target, 1, 5_000);
+        dataSource.getConnection();
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
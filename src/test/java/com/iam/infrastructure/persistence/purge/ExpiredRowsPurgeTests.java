@@ -0,0 +1,42 @@
+package com.iam.infrastructure.persistence.purge;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExpiredRowsPurgeTests {
+    private static final int BATCH_SIZE = 10;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExpiredRowsPurge purge =
+            new ExpiredRowsPurge("test.purge", "expired rows", meterRegistry, BATCH_SIZE, 3);
+
+    @Test
+    void stopsAtTheFirstPartialBatch() {
+        var batches = new ArrayDeque<>(List.of(10, 4, 10));
+
+        var deleted = purge.run((now, limit) -> batches.poll());
+
+        assertEquals(14, deleted);
+        assertEquals(1, batches.size());
+        assertEquals(14.0, meterRegistry.counter("test.purge.rows").count());
+        assertEquals(1, meterRegistry.timer("test.purge").count());
+    }
+
+    @Test
+    void stopsAfterMaxBatches() {
+        var calls = new int[1];
+
+        var deleted = purge.run((now, limit) -> {
+            calls[0]++;
+            return limit;
+        });
+
+        assertEquals(3, calls[0]);
+        assertEquals(3 * BATCH_SIZE, deleted);
+    }
+}
@@ -0,0 +1,119 @@
+package com.iam.infrastructure.tokens.jwt.keys;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.security.Key;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtKeyMaterialTests {
+    private static final String SECRET = "a-shared-secret-that-is-long-enough-for-hs384-signing";
+
+    @Test
+    void hmacIsTheDefaultAndReadsThePreviousSecrets() {
+        var environment = new MockEnvironment()
+                .withProperty("authorization.jwt.secret", SECRET)
+                .withProperty("authorization.jwt.previous-secrets", "old-one, ,old-two");
+
+        var material = JwtKeyMaterial.from(environment);
+
+        assertEquals(JwtSigningAlgorithm.HS384, material.algorithm());
+        assertEquals(SECRET, material.secret());
+        assertEquals(List.of("old-one", "old-two"), material.previousSecrets());
+        assertFalse(material.hasKeyPair());
+    }
+
+    @Test
+    void parsesPemEncodedKeyPairs() {
+        for (var algorithm : List.of(JwtSigningAlgorithm.ES256, JwtSigningAlgorithm.EdDSA)) {
+            var keyPair = algorithm.generateKeyPair();
+            var environment = new MockEnvironment()
+                    .withProperty("authorization.jwt.algorithm", algorithm.name().toLowerCase())
+                    .withProperty("authorization.jwt.private-key", pem("PRIVATE KEY", keyPair.getPrivate()))
+                    .withProperty("authorization.jwt.public-key", pem("PUBLIC KEY", keyPair.getPublic()));
+
+            var material = JwtKeyMaterial.from(environment);
+
+            assertEquals(algorithm, material.algorithm());
+            assertTrue(material.hasKeyPair());
+            assertArrayEquals(keyPair.getPrivate().getEncoded(), material.privateKey().getEncoded());
+            assertArrayEquals(keyPair.getPublic().getEncoded(), material.publicKey().getEncoded());
+        }
+    }
+
+    @Test
+    void acceptsEscapedLineBreaksAndBareBase64() {
+        var keyPair = JwtSigningAlgorithm.ES256.generateKeyPair();
+        // Así llegan los PEM desde una variable de entorno de una sola línea
+        var escapedPrivateKey = pem("PRIVATE KEY", keyPair.getPrivate()).replace("\n", "\\n");
+        var bareBase64PublicKey = Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+        var environment = new MockEnvironment()
+                .withProperty("authorization.jwt.algorithm", "ES256")
+                .withProperty("authorization.jwt.private-key", escapedPrivateKey)
+                .withProperty("authorization.jwt.public-key", bareBase64PublicKey);
+
+        var material = JwtKeyMaterial.from(environment);
+
+        assertArrayEquals(keyPair.getPrivate().getEncoded(), material.privateKey().getEncoded());
+        assertArrayEquals(keyPair.getPublic().getEncoded(), material.publicKey().getEncoded());
+    }
+
+    @Test
+    void previousPublicKeysMayUseAnotherAsymmetricAlgorithm() {
+        var previousEc = JwtSigningAlgorithm.ES256.generateKeyPair().getPublic();
+        var previousEd = JwtSigningAlgorithm.EdDSA.generateKeyPair().getPublic();
+        var environment = new MockEnvironment()
+                .withProperty("authorization.jwt.algorithm", "EdDSA")
+                .withProperty("authorization.jwt.previous-public-keys",
+                        pem("PUBLIC KEY", previousEc) + "," + pem("PUBLIC KEY", previousEd));
+
+        var material = JwtKeyMaterial.from(environment);
+
+        assertFalse(material.hasKeyPair());
+        assertNull(material.privateKey());
+        assertEquals(2, material.previousPublicKeys().size());
+        assertArrayEquals(previousEc.getEncoded(), material.previousPublicKeys().get(0).getEncoded());
+        assertArrayEquals(previousEd.getEncoded(), material.previousPublicKeys().get(1).getEncoded());
+    }
+
+    @Test
+    void privateAndPublicKeysMustBeSetTogether() {
+        var keyPair = JwtSigningAlgorithm.ES256.generateKeyPair();
+        var environment = new MockEnvironment()
+                .withProperty("authorization.jwt.algorithm", "ES256")
+                .withProperty("authorization.jwt.private-key", pem("PRIVATE KEY", keyPair.getPrivate()));
+
+        assertThrows(IllegalArgumentException.class, () -> JwtKeyMaterial.from(environment));
+    }
+
+    @Test
+    void rejectsAKeyOfAnotherAlgorithm() {
+        var keyPair = JwtSigningAlgorithm.EdDSA.generateKeyPair();
+        var environment = new MockEnvironment()
+                .withProperty("authorization.jwt.algorithm", "ES256")
+                .withProperty("authorization.jwt.private-key", pem("PRIVATE KEY", keyPair.getPrivate()))
+                .withProperty("authorization.jwt.public-key", pem("PUBLIC KEY", keyPair.getPublic()));
+
+        assertThrows(IllegalArgumentException.class, () -> JwtKeyMaterial.from(environment));
+    }
+
+    @Test
+    void rejectsAnUnsupportedAlgorithm() {
+        var environment = new MockEnvironment().withProperty("authorization.jwt.algorithm", "RS256");
+
+        assertThrows(IllegalArgumentException.class, () -> JwtKeyMaterial.from(environment));
+    }
+
+    static String pem(String type, Key key) {
+        var base64 = Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(key.getEncoded());
+        return "-----BEGIN " + type + "-----\n" + base64 + "\n-----END " + type + "-----\n";
+    }
+}
@@ -0,0 +1,153 @@
+package com.iam.infrastructure.tokens.jwt.keys;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+import static com.iam.infrastructure.tokens.jwt.keys.JwtKeyMaterialTests.pem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtKeyRingTests {
+    private static final String SECRET = "a-shared-secret-that-is-long-enough-for-hs384-signing";
+    private static final String ROTATED_SECRET = "another-shared-secret-long-enough-for-hs384-signing";
+
+    // Llave Ed25519 de RFC 8037, apéndice A.1, con su thumbprint RFC 7638 del apéndice A.3
+    private static final String RFC_8037_PRIVATE_KEY = "302e020100300506032b657004220420"
+            + "9d61b19deffd5a60ba844af492ec2cc44449c5697b326919703bac031cae7f60";
+    private static final String RFC_8037_PUBLIC_KEY = "302a300506032b6570032100"
+            + "d75a980182b10ab7d54bfed3c964073a0ee172f3daa62325af021a68f707511a";
+    private static final String RFC_8037_THUMBPRINT = "kPrK_qmxVWaYVA9wwBF6Iuo3vVzz7TxHCTwXBygrS4k";
+
+    @Test
+    void signsAndVerifiesWithEveryAlgorithm() {
+        for (var algorithm : JwtSigningAlgorithm.values()) {
+            var keyRing = new JwtKeyRing(environment(algorithm));
+
+            var token = issue(keyRing, "alice");
+            var jws = keyRing.parser().parseSignedClaims(token);
+
+            assertEquals(algorithm, keyRing.algorithm());
+            assertEquals(algorithm.name(), jws.getHeader().getAlgorithm());
+            assertEquals(keyRing.activeKeyId(), jws.getHeader().getKeyId());
+            assertEquals("alice", jws.getPayload().getSubject());
+        }
+    }
+
+    @Test
+    void publicKeyIdIsTheRfc7638Thumbprint() {
+        var environment = new MockEnvironment()
+                .withProperty("authorization.jwt.algorithm", "EdDSA")
+                .withProperty("authorization.jwt.private-key", pemOf("PRIVATE KEY", RFC_8037_PRIVATE_KEY))
+                .withProperty("authorization.jwt.public-key", pemOf("PUBLIC KEY", RFC_8037_PUBLIC_KEY));
+
+        var keyRing = new JwtKeyRing(environment);
+
+        assertEquals(RFC_8037_THUMBPRINT, keyRing.activeKeyId());
+        var jwks = new String(keyRing.jwks().json(), StandardCharsets.UTF_8);
+        assertTrue(jwks.contains("\"kid\":\"" + RFC_8037_THUMBPRINT + "\""), jwks);
+        assertTrue(jwks.contains("\"x\":\"11qYAYKxCrfVS_7TyWQHOg7hcvPapiMlrwIaaPcHURo\""), jwks);
+    }
+
+    @Test
+    void tokensSignedBeforeARotationStillVerify() {
+        var keyRing = new JwtKeyRing(environment(JwtSigningAlgorithm.HS384));
+        var previousKeyId = keyRing.activeKeyId();
+        var issuedBefore = issue(keyRing, "alice");
+
+        keyRing.rotate(JwtKeyMaterial.hmac(ROTATED_SECRET, List.of()));
+        var issuedAfter = issue(keyRing, "bob");
+
+        assertNotEquals(previousKeyId, keyRing.activeKeyId());
+        assertEquals(1, keyRing.version());
+        assertEquals("alice", keyRing.parser().parseSignedClaims(issuedBefore).getPayload().getSubject());
+        assertEquals("bob", keyRing.parser().parseSignedClaims(issuedAfter).getPayload().getSubject());
+    }
+
+    @Test
+    void rotationToAnotherAlgorithmKeepsThePreviousPublicKey() {
+        var environment = environment(JwtSigningAlgorithm.ES256);
+        var keyRing = new JwtKeyRing(environment);
+        var previousKeyId = keyRing.activeKeyId();
+        var issuedBefore = issue(keyRing, "alice");
+
+        var keyPair = JwtSigningAlgorithm.EdDSA.generateKeyPair();
+        environment.withProperty("authorization.jwt.algorithm", "EdDSA")
+                .withProperty("authorization.jwt.private-key", pem("PRIVATE KEY", keyPair.getPrivate()))
+                .withProperty("authorization.jwt.public-key", pem("PUBLIC KEY", keyPair.getPublic()));
+        keyRing.on(new EnvironmentChangeEvent(Set.of("authorization.jwt.algorithm")));
+
+        assertEquals(JwtSigningAlgorithm.EdDSA, keyRing.algorithm());
+        assertEquals("alice", keyRing.parser().parseSignedClaims(issuedBefore).getPayload().getSubject());
+        var jwks = new String(keyRing.jwks().json(), StandardCharsets.UTF_8);
+        assertTrue(jwks.contains("\"kid\":\"" + previousKeyId + "\""), jwks);
+        assertTrue(jwks.contains("\"kid\":\"" + keyRing.activeKeyId() + "\""), jwks);
+    }
+
+    @Test
+    void previousSecretsAreAcceptedForVerification() {
+        var issuedWithOldSecret = issue(new JwtKeyRing(environment(JwtSigningAlgorithm.HS384)), "alice");
+        var keyRing = new JwtKeyRing(new MockEnvironment()
+                .withProperty("authorization.jwt.secret", ROTATED_SECRET)
+                .withProperty("authorization.jwt.previous-secrets", SECRET));
+
+        assertEquals("alice", keyRing.parser().parseSignedClaims(issuedWithOldSecret).getPayload().getSubject());
+    }
+
+    @Test
+    void tokensSignedWithAnUnknownKeyAreRejected() {
+        var foreignToken = issue(new JwtKeyRing(environment(JwtSigningAlgorithm.HS384)), "mallory");
+        var keyRing = new JwtKeyRing(new MockEnvironment().withProperty("authorization.jwt.secret", ROTATED_SECRET));
+
+        assertThrows(SignatureException.class, () -> keyRing.parser().parseSignedClaims(foreignToken));
+    }
+
+    @Test
+    void invalidRotationIsIgnored() {
+        var environment = environment(JwtSigningAlgorithm.HS384);
+        var keyRing = new JwtKeyRing(environment);
+        var activeKeyId = keyRing.activeKeyId();
+
+        // ES256 sin par de llaves no puede reemplazar a la llave activa
+        environment.withProperty("authorization.jwt.algorithm", "ES256");
+        keyRing.on(new EnvironmentChangeEvent(Set.of("authorization.jwt.algorithm")));
+
+        assertEquals(JwtSigningAlgorithm.HS384, keyRing.algorithm());
+        assertEquals(activeKeyId, keyRing.activeKeyId());
+        assertEquals(0, keyRing.version());
+    }
+
+    // helpers
+
+    private static MockEnvironment environment(JwtSigningAlgorithm algorithm) {
+        var environment = new MockEnvironment()
+                .withProperty("authorization.jwt.algorithm", algorithm.name())
+                .withProperty("authorization.jwt.secret", SECRET);
+        if (algorithm.isAsymmetric()) {
+            var keyPair = algorithm.generateKeyPair();
+            environment.withProperty("authorization.jwt.private-key", pem("PRIVATE KEY", keyPair.getPrivate()))
+                    .withProperty("authorization.jwt.public-key", pem("PUBLIC KEY", keyPair.getPublic()));
+        }
+        return environment;
+    }
+
+    private static String issue(JwtKeyRing keyRing, String subject) {
+        return keyRing.sign(Jwts.builder().subject(subject)).compact();
+    }
+
+    private static String pemOf(String type, String derHex) {
+        var der = HexFormat.of().parseHex(derHex);
+        return "-----BEGIN " + type + "-----\n" + Base64.getEncoder().encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+}
@@ -0,0 +1,56 @@
+package com.iam.infrastructure.tokens.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTests {
+
+    @Test
+    void neverReturnsFalseNegatives() {
+        var filter = new BloomFilter(10_000, 0.001);
+        for (int i = 0; i < 10_000; i++) filter.put(JtiHashes.sha256Hex("revoked-" + i));
+
+        for (int i = 0; i < 10_000; i++)
+            assertTrue(filter.mightContain(JtiHashes.sha256Hex("revoked-" + i)), "false negative for " + i);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTargetAtExpectedInsertions() {
+        var filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) filter.put(JtiHashes.sha256Hex("revoked-" + i));
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++)
+            if (filter.mightContain(JtiHashes.sha256Hex("active-" + i))) falsePositives++;
+
+        // Objetivo 1 %; margen para la variación estadística
+        assertTrue(falsePositives < probes * 0.02, "false positive rate " + (double) falsePositives / probes);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        var filter = new BloomFilter(0, 0.001);
+
+        assertFalse(filter.mightContain(JtiHashes.sha256Hex("anything")));
+    }
+
+    @Test
+    void overfilledFilterStillHasNoFalseNegatives() {
+        var filter = new BloomFilter(10, 0.001);
+        for (int i = 0; i < 1_000; i++) filter.put(JtiHashes.sha256Hex("revoked-" + i));
+
+        for (int i = 0; i < 1_000; i++) assertTrue(filter.mightContain(JtiHashes.sha256Hex("revoked-" + i)));
+    }
+
+    @Test
+    void rejectsValuesThatAreNotSha256Digests() {
+        var filter = new BloomFilter(10, 0.001);
+
+        assertThrows(IllegalArgumentException.class, () -> filter.put("short"));
+        assertThrows(IllegalArgumentException.class, () -> filter.mightContain(null));
+    }
+}
@@ -0,0 +1,66 @@
+package com.iam.infrastructure.tokens.revocation;
+
+import com.iam.domain.model.readmodels.RevokedTokenEntry;
+import com.iam.infrastructure.persistence.jpa.repositories.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RevokedTokenCacheTests {
+    private static final Instant EXPIRES_AT = Instant.now().plus(1, ChronoUnit.HOURS);
+
+    private RevokedTokenRepository repository;
+    private RevokedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+        when(repository.findActiveEntries(any())).thenReturn(List.of());
+        cache = new RevokedTokenCache(repository, 1_000, 0.001, 100);
+        cache.rebuild();
+    }
+
+    @Test
+    void synchronizationPicksUpRowsCommittedBelowTheWatermark() {
+        // La fila 12 se confirma antes que la 11, que tenía su id asignado desde antes
+        when(repository.findActiveEntriesAfter(eq(0L), any())).thenReturn(List.of(revoked(12, "late-12")));
+        cache.synchronize();
+
+        when(repository.findActiveEntriesAfter(eq(0L), any())).thenReturn(List.of(revoked(11, "late-11"), revoked(12, "late-12")));
+        cache.synchronize();
+
+        when(repository.existsByJtiHash(JtiHashes.sha256Hex("late-11"))).thenReturn(true);
+        assertTrue(cache.isRevoked(JtiHashes.sha256Hex("late-11"), EXPIRES_AT));
+    }
+
+    @Test
+    void synchronizationRereadsOnlyTheOverlapWindow() {
+        when(repository.findActiveEntriesAfter(anyLong(), any())).thenReturn(List.of(revoked(500, "row-500")));
+        cache.synchronize();
+        cache.synchronize();
+
+        verify(repository).findActiveEntriesAfter(eq(0L), any());
+        verify(repository).findActiveEntriesAfter(eq(400L), any());
+    }
+
+    @Test
+    void tokensMissingFromTheFilterAreNotRevokedWithoutAQuery() {
+        assertFalse(cache.isRevoked(JtiHashes.sha256Hex("never-revoked"), EXPIRES_AT));
+    }
+
+    private static RevokedTokenEntry revoked(long id, String jti) {
+        return new RevokedTokenEntry(id, JtiHashes.sha256Hex(jti), EXPIRES_AT);
+    }
+}
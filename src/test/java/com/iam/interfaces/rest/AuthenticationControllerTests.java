@@ -0,0 +1,124 @@
+package com.iam.interfaces.rest;
+
+import com.iam.application.internal.commandservices.RefreshTokenCommandService;
+import com.iam.application.internal.commandservices.TokenRevocationCommandService;
+import com.iam.domain.model.aggregates.User;
+import com.iam.domain.model.commands.RefreshTokenCommand;
+import com.iam.domain.model.commands.RevokeRefreshTokenCommand;
+import com.iam.domain.model.commands.SignUpCommand;
+import com.iam.domain.model.entities.Role;
+import com.iam.domain.model.valueobjects.AuthenticationTokens;
+import com.iam.domain.model.valueobjects.Roles;
+import com.iam.domain.services.UserCommandService;
+import com.iam.infrastructure.tokens.jwt.BearerTokenService;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthenticationControllerTests {
+    private UserCommandService userCommandService;
+    private BearerTokenService bearerTokenService;
+    private TokenRevocationCommandService tokenRevocationCommandService;
+    private RefreshTokenCommandService refreshTokenCommandService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        userCommandService = mock(UserCommandService.class);
+        bearerTokenService = mock(BearerTokenService.class);
+        tokenRevocationCommandService = mock(TokenRevocationCommandService.class);
+        refreshTokenCommandService = mock(RefreshTokenCommandService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new AuthenticationController(userCommandService,
+                bearerTokenService, tokenRevocationCommandService, refreshTokenCommandService)).build();
+    }
+
+    @Test
+    void signUpWithACustomerRoleCreatesTheUser() throws Exception {
+        var user = new User("alice", "hash", new ArrayList<>(List.of(new Role(Roles.BUYER))));
+        ReflectionTestUtils.setField(user, "id", 7L);
+        when(userCommandService.handle(any(SignUpCommand.class))).thenReturn(Optional.of(user));
+
+        mockMvc.perform(post("/api/v1/authentication/sign-up")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"alice\",\"password\":\"secret\",\"roles\":[\"BUYER\"]}"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void signUpCannotGrantPrivilegedRoles() throws Exception {
+        for (var role : List.of("SYSTEM", "ADMIN")) {
+            mockMvc.perform(post("/api/v1/authentication/sign-up")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"username\":\"mallory\",\"password\":\"secret\",\"roles\":[\"BUYER\",\"" + role + "\"]}"))
+                    .andExpect(status().isForbidden());
+        }
+
+        verify(userCommandService, never()).handle(any(SignUpCommand.class));
+    }
+
+    @Test
+    void refreshReturnsNewTokens() throws Exception {
+        var user = new User("alice", "hash", new ArrayList<>());
+        ReflectionTestUtils.setField(user, "id", 7L);
+        when(userCommandService.handle(new RefreshTokenCommand("current")))
+                .thenReturn(Optional.of(ImmutablePair.of(user, new AuthenticationTokens("access", "successor"))));
+
+        mockMvc.perform(post("/api/v1/authentication/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"current\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("access"))
+                .andExpect(jsonPath("$.refreshToken").value("successor"));
+    }
+
+    @Test
+    void refreshWithExpiredOrRevokedTokenIsUnauthorized() throws Exception {
+        // El servicio devuelve vacío para tokens desconocidos, expirados, revocados o reusados
+        when(userCommandService.handle(any(RefreshTokenCommand.class))).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/v1/authentication/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"expired\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logoutWithOnlyARefreshTokenRevokesItsFamily() throws Exception {
+        when(bearerTokenService.getBearerTokenFrom(any())).thenReturn(null);
+
+        mockMvc.perform(post("/api/v1/authentication/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"current\"}"))
+                .andExpect(status().isNoContent());
+
+        verify(refreshTokenCommandService).handle(new RevokeRefreshTokenCommand("current"));
+        verify(tokenRevocationCommandService, never()).handle(any());
+    }
+
+    @Test
+    void logoutWithoutAnyTokenIsUnauthorized() throws Exception {
+        when(bearerTokenService.getBearerTokenFrom(any())).thenReturn(null);
+
+        mockMvc.perform(post("/api/v1/authentication/logout"))
+                .andExpect(status().isUnauthorized());
+
+        verify(refreshTokenCommandService, never()).handle(any());
+    }
+}
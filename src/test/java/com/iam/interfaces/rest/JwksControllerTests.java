@@ -0,0 +1,69 @@
+package com.iam.interfaces.rest;
+
+import com.iam.infrastructure.tokens.jwt.keys.JwtKeyMaterial;
+import com.iam.infrastructure.tokens.jwt.keys.JwtKeyRing;
+import com.iam.infrastructure.tokens.jwt.keys.JwtSigningAlgorithm;
+import io.jsonwebtoken.security.Jwks;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class JwksControllerTests {
+    private static final String JWKS = "/.well-known/jwks.json";
+
+    private JwtKeyRing keyRing;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        // Sin par de llaves configurado el key ring genera uno efímero de ES256
+        keyRing = new JwtKeyRing(new MockEnvironment().withProperty("authorization.jwt.algorithm", "ES256"));
+        mockMvc = MockMvcBuilders.standaloneSetup(new JwksController(keyRing, 300)).build();
+    }
+
+    @Test
+    void publishesThePublicKeysWithAnETag() throws Exception {
+        mockMvc.perform(get(JWKS))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", keyRing.jwks().eTag()))
+                .andExpect(header().string("Cache-Control", "max-age=300, public"))
+                .andExpect(jsonPath("$.keys[0].kid").value(keyRing.activeKeyId()))
+                .andExpect(jsonPath("$.keys[0].alg").value("ES256"))
+                .andExpect(jsonPath("$.keys[0].use").value("sig"))
+                .andExpect(jsonPath("$.keys[0].d").doesNotExist());
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWithNotModified() throws Exception {
+        var eTag = mockMvc.perform(get(JWKS)).andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get(JWKS).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void rotationChangesTheETag() throws Exception {
+        var eTag = mockMvc.perform(get(JWKS)).andReturn().getResponse().getHeader("ETag");
+
+        var keyPair = Jwks.CRV.Ed25519.keyPair().build();
+        keyRing.rotate(new JwtKeyMaterial(JwtSigningAlgorithm.EdDSA, null, List.of(),
+                keyPair.getPrivate(), keyPair.getPublic(), List.of()));
+
+        mockMvc.perform(get(JWKS).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", keyRing.jwks().eTag()))
+                .andExpect(jsonPath("$.keys.length()").value(2));
+    }
+}
@@ -0,0 +1,149 @@
+package com.iam.interfaces.rest;
+
+import com.iam.application.internal.queryservices.TokenIntrospectionQueryService;
+import com.iam.infrastructure.tokens.jwt.BearerTokenService;
+import com.iam.infrastructure.tokens.jwt.model.VerifiedToken;
+import com.iam.infrastructure.tokens.revocation.JtiHashes;
+import com.iam.infrastructure.tokens.revocation.RevokedTokenCache;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringJUnitConfig(TokenIntrospectionControllerTests.TestConfiguration.class)
+@TestPropertySource(properties = "authorization.introspection.max-cache-seconds=60")
+class TokenIntrospectionControllerTests {
+    private static final String TOKEN = "access-token";
+
+    @MockBean
+    private BearerTokenService tokenService;
+
+    @MockBean
+    private RevokedTokenCache revokedTokenCache;
+
+    @Autowired
+    private TokenIntrospectionController controller;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        // El controller es el proxy de method security: @PreAuthorize se aplica
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    @WithMockUser(authorities = "SYSTEM")
+    void activeTokenIsCachedForAtMostTheConfiguredTime() throws Exception {
+        when(tokenService.verify(TOKEN)).thenReturn(verifiedToken(Instant.now().plus(Duration.ofHours(1))));
+
+        introspect()
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.active").value(true))
+                .andExpect(jsonPath("$.sub").value("alice"))
+                .andExpect(jsonPath("$.user_id").value(7))
+                .andExpect(jsonPath("$.roles[0]").value("BUYER"))
+                .andExpect(header().string("Cache-Control", "max-age=60, private"));
+    }
+
+    @Test
+    @WithMockUser(authorities = "SYSTEM")
+    void activeTokenIsNotCachedPastItsExpiration() throws Exception {
+        when(tokenService.verify(TOKEN)).thenReturn(verifiedToken(Instant.now().plusSeconds(10)));
+
+        introspect()
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.active").value(true))
+                .andExpect(header().string("Cache-Control", matchesPattern("max-age=(9|10), private")));
+    }
+
+    @Test
+    @WithMockUser(authorities = "SYSTEM")
+    void invalidTokenIsInactive() throws Exception {
+        when(tokenService.verify(TOKEN)).thenThrow(new ExpiredJwtException(null, null, "expired"));
+
+        introspect()
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.active").value(false))
+                .andExpect(jsonPath("$.sub").doesNotExist())
+                .andExpect(header().string("Cache-Control", "no-store"));
+    }
+
+    @Test
+    @WithMockUser(authorities = "SYSTEM")
+    void revokedTokenIsInactive() throws Exception {
+        var expiresAt = Instant.now().plus(Duration.ofHours(1));
+        when(tokenService.verify(TOKEN)).thenReturn(verifiedToken(expiresAt));
+        when(revokedTokenCache.isRevoked(eq(JtiHashes.sha256Hex("jti-1")), any())).thenReturn(true);
+
+        introspect()
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.active").value(false))
+                .andExpect(header().string("Cache-Control", "no-store"));
+    }
+
+    @Test
+    @WithMockUser(authorities = "BUYER")
+    void callerWithoutSystemAuthorityIsDenied() {
+        var exception = assertThrows(ServletException.class, this::introspect);
+        assertInstanceOf(AccessDeniedException.class, exception.getCause());
+    }
+
+    @Test
+    void anonymousCallerIsDenied() {
+        var exception = assertThrows(ServletException.class, this::introspect);
+        assertInstanceOf(AuthenticationCredentialsNotFoundException.class, exception.getCause());
+    }
+
+    // private methods
+
+    private ResultActions introspect() throws Exception {
+        return mockMvc.perform(post("/api/v1/authentication/introspect").param("token", TOKEN));
+    }
+
+    private static VerifiedToken verifiedToken(Instant expiresAt) {
+        return new VerifiedToken("jti-1", "alice", 7L, List.of("BUYER"), expiresAt);
+    }
+
+    @Configuration
+    @EnableMethodSecurity
+    @Import({TokenIntrospectionController.class, TokenIntrospectionQueryService.class})
+    static class TestConfiguration {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.iam.interfaces.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iam.application.internal.commandservices.UserImportCommandService;
+import com.iam.domain.model.queries.GetAllUsersQuery;
+import com.iam.domain.model.readmodels.UserView;
+import com.iam.domain.services.UserQueryService;
+import com.iam.infrastructure.persistence.jdbc.UserViewRepository;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringJUnitConfig(UsersControllerTests.TestConfiguration.class)
+@TestPropertySource(properties = "export.users.timeout-ms=60000")
+class UsersControllerTests {
+    private static final String USERS = "/api/v1/users";
+    private static final long EXPORT_TIMEOUT_MILLIS = 60000;
+
+    @MockBean
+    private UserQueryService userQueryService;
+
+    @MockBean
+    private UserViewRepository userViewRepository;
+
+    @MockBean
+    private UserImportCommandService userImportCommandService;
+
+    @Autowired
+    private UsersController controller;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        // El controller es el proxy de method security: @PreAuthorize se aplica
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void fullPageCarriesTheNextCursor() throws Exception {
+        when(userQueryService.handle(new GetAllUsersQuery(null, 2))).thenReturn(List.of(user(1), user(2)));
+
+        mockMvc.perform(get(USERS).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(UsersController.NEXT_CURSOR_HEADER, "2"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].username").value("user-2"));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void continuationFromTheCursorEndsOnTheLastPage() throws Exception {
+        when(userQueryService.handle(new GetAllUsersQuery(2L, 2))).thenReturn(List.of(user(3)));
+
+        mockMvc.perform(get(USERS).param("after", "2").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(UsersController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(3));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void emptyPageAfterTheLastUserHasNoNextCursor() throws Exception {
+        when(userQueryService.handle(new GetAllUsersQuery(3L, 3))).thenReturn(List.of());
+
+        mockMvc.perform(get(USERS).param("after", "3").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(UsersController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void exportStreamsOneUserPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<UserView> consumer = invocation.getArgument(0);
+            consumer.accept(user(1));
+            consumer.accept(user(2));
+            return null;
+        }).when(userViewRepository).forEach(any());
+
+        var result = mockMvc.perform(get(USERS + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(EXPORT_TIMEOUT_MILLIS, result.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(content().string("""
+                        {"id":1,"username":"user-1","roles":["BUYER"]}
+                        {"id":2,"username":"user-2","roles":["BUYER"]}
+                        """));
+    }
+
+    @Test
+    @WithMockUser(authorities = {"SELLER", "BUYER"})
+    void listingRequiresTheAdminAuthority() {
+        var exception = assertThrows(ServletException.class, () -> mockMvc.perform(get(USERS)));
+
+        assertInstanceOf(AccessDeniedException.class, exception.getCause());
+        verifyNoInteractions(userQueryService);
+    }
+
+    @Test
+    @WithMockUser(authorities = "SYSTEM")
+    void exportRequiresTheAdminAuthority() {
+        var exception = assertThrows(ServletException.class, () -> mockMvc.perform(get(USERS + "/export")));
+
+        assertInstanceOf(AccessDeniedException.class, exception.getCause());
+        verifyNoInteractions(userViewRepository);
+    }
+
+    @Test
+    void anonymousCallerIsDenied() {
+        var exception = assertThrows(ServletException.class, () -> mockMvc.perform(get(USERS)));
+
+        assertInstanceOf(AuthenticationCredentialsNotFoundException.class, exception.getCause());
+    }
+
+    // private methods
+
+    private static UserView user(long id) {
+        return new UserView(id, "user-" + id, List.of("BUYER"));
+    }
+
+    @Configuration
+    @EnableMethodSecurity
+    @Import(UsersController.class)
+    static class TestConfiguration {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.iam.interfaces.rest.transform;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iam.domain.model.valueobjects.UserImportRow;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserImportRowsFromStreamAssemblerTests {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void csvSkipsTheHeaderAndBlankLinesKeepingLineNumbers() {
+        var rows = csv("""
+                username,password,roles
+                alice,secret,BUYER|SELLER
+
+                bob,secret
+                """);
+
+        assertEquals(List.of(
+                new UserImportRow(2, "alice", "secret", List.of("BUYER", "SELLER")),
+                new UserImportRow(4, "bob", "secret", List.of())
+        ), rows);
+    }
+
+    @Test
+    void csvUnquotesFieldsAndTrimsRoles() {
+        var rows = csv("""
+                " carol ","pa,ss""word"," BUYER | | SELLER "
+                dave,secret,
+                """);
+
+        assertEquals(new UserImportRow(1, "carol", "pa,ss\"word", List.of("BUYER", "SELLER")), rows.get(0));
+        assertEquals(new UserImportRow(2, "dave", "secret", List.of()), rows.get(1));
+    }
+
+    @Test
+    void malformedCsvLinesBecomeMalformedRows() {
+        var rows = csv("""
+                alice,"secret
+                bob
+                carol,secret,BUYER,extra
+                dave,secret
+                """);
+
+        assertEquals(UserImportRow.malformed(1, "Malformed CSV: unbalanced quotes"), rows.get(0));
+        assertEquals(UserImportRow.malformed(2, "Malformed CSV: expected username,password[,roles]"), rows.get(1));
+        assertEquals(UserImportRow.malformed(3, "Malformed CSV: expected username,password[,roles]"), rows.get(2));
+        assertFalse(rows.get(3).isMalformed());
+    }
+
+    @Test
+    void headerIsOnlySkippedOnTheFirstLine() {
+        var rows = csv("""
+                alice,secret
+                username,secret
+                """);
+
+        assertEquals(2, rows.size());
+        assertEquals("username", rows.get(1).username());
+    }
+
+    @Test
+    void ndjsonReadsOneUserPerLine() {
+        var rows = ndjson("""
+                {"username":"alice","password":"secret","roles":["ADMIN"]}
+
+                {"username":"bob","password":"secret"}
+                """);
+
+        assertEquals(List.of(
+                new UserImportRow(1, "alice", "secret", List.of("ADMIN")),
+                new UserImportRow(3, "bob", "secret", List.of())
+        ), rows);
+    }
+
+    @Test
+    void malformedJsonLinesBecomeMalformedRows() {
+        var rows = ndjson("""
+                {"username":"alice","password":
+                {"username":"bob","password":"secret"}
+                """);
+
+        assertTrue(rows.get(0).isMalformed());
+        assertEquals(1, rows.get(0).line());
+        assertNull(rows.get(0).username());
+        assertTrue(rows.get(0).error().startsWith("Malformed JSON: "), rows.get(0).error());
+        assertEquals("bob", rows.get(1).username());
+    }
+
+    @Test
+    void closingTheRowsClosesTheReader() {
+        var closed = new AtomicBoolean();
+        var reader = new BufferedReader(new StringReader("alice,secret\n")) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        try (var rows = UserImportRowsFromStreamAssembler.toRowsFromCsv(reader)) {
+            assertEquals(1, rows.count());
+        }
+
+        assertTrue(closed.get());
+    }
+
+    // private methods
+
+    private static List<UserImportRow> csv(String content) {
+        try (var rows = UserImportRowsFromStreamAssembler.toRowsFromCsv(new BufferedReader(new StringReader(content)))) {
+            return rows.toList();
+        }
+    }
+
+    private List<UserImportRow> ndjson(String content) {
+        try (var rows = UserImportRowsFromStreamAssembler.toRowsFromNdjson(
+                new BufferedReader(new StringReader(content)), objectMapper)) {
+            return rows.toList();
+        }
+    }
+}